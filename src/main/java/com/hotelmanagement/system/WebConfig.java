@@ -0,0 +1,32 @@
+package com.hotelmanagement.system;
+
+import com.hotelmanagement.system.controller.ActuatorAccessFilter;
+import com.hotelmanagement.system.controller.RoleInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private RoleInterceptor roleInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(roleInterceptor);
+    }
+
+    /**
+     * Apply the actuator filter to the actuator paths only
+     */
+    @Bean
+    public FilterRegistrationBean<ActuatorAccessFilter> actuatorAccessFilterRegistration(ActuatorAccessFilter filter) {
+        FilterRegistrationBean<ActuatorAccessFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/actuator/*");
+        return registration;
+    }
+}
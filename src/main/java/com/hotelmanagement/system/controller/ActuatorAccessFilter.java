@@ -0,0 +1,65 @@
+package com.hotelmanagement.system.controller;
+
+import com.hotelmanagement.system.model.UserPrincipal;
+import com.hotelmanagement.system.service.PrincipalCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Restricts the actuator endpoints, other than health, to hotel staff.
+ *
+ * Actuator endpoints are not controller methods, so @RequireRole and
+ * RoleInterceptor never see them; this filter applies the same session check
+ * and answers with the same JSON 401 or 403.
+ */
+@Component
+public class ActuatorAccessFilter extends OncePerRequestFilter {
+
+    private static final String[] ROLES = {"HOTEL_MANAGER", "ADMIN"};
+
+    private final PrincipalCache principalCache;
+
+    @Autowired
+    public ActuatorAccessFilter(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.equals("/actuator/health") || path.startsWith("/actuator/health/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        Long userId = session != null ? (Long) session.getAttribute("userId") : null;
+        UserPrincipal principal = userId != null ? principalCache.get(userId) : null;
+
+        if (principal == null) {
+            deny(response, HttpServletResponse.SC_UNAUTHORIZED, "Not authenticated");
+            return;
+        }
+        if (!principal.hasAnyRole(ROLES)) {
+            deny(response, HttpServletResponse.SC_FORBIDDEN, "Access denied");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static void deny(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
@@ -1,7 +1,6 @@
 package com.hotelmanagement.system.controller;
 
 import com.hotelmanagement.system.model.Booking;
-import com.hotelmanagement.system.model.Room;
 import com.hotelmanagement.system.model.User;
 import com.hotelmanagement.system.service.BookingService;
 import com.hotelmanagement.system.service.UserService;
@@ -62,10 +61,7 @@ public class CustomerBookingController {
             User user = userService.getUserById(userId);
 
             // Check if there are ANY rooms of this type available for the dates
-            List<Room> availableRooms = bookingService.getAvailableRoomsByDateRangeAndType(
-                    checkInDate, checkOutDate, roomType);
-
-            if (availableRooms.isEmpty()) {
+            if (!bookingService.isRoomTypeAvailable(checkInDate, checkOutDate, roomType)) {
                 redirectAttributes.addFlashAttribute("error",
                         "Sorry, no " + roomType + " rooms are available for the selected dates. " +
                                 "Please try different dates or room type.");
@@ -81,6 +77,7 @@ public class CustomerBookingController {
             Booking booking = new Booking();
             booking.setUser(user);
             booking.setRoom(null); // NO ROOM ASSIGNED YET - Staff will assign later
+            booking.setRoomType(roomType.toUpperCase().trim()); // Counts against this type's inventory
             booking.setCheckInDate(checkInDate);
             booking.setCheckOutDate(checkOutDate);
             booking.setTotalPrice(totalPrice);
@@ -88,7 +85,7 @@ public class CustomerBookingController {
             booking.setSpecialRequests(specialRequests);
 
             // Save booking
-            Booking savedBooking = bookingService.saveBooking(booking);
+            Booking savedBooking = bookingService.createRoomTypeBooking(booking);
 
             // Store room type in session for display purposes
             session.setAttribute("bookedRoomType", roomType);
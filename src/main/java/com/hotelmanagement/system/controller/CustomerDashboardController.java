@@ -1,7 +1,6 @@
 package com.hotelmanagement.system.controller;
 
 import com.hotelmanagement.system.model.Booking;
-import com.hotelmanagement.system.model.Room;
 import com.hotelmanagement.system.model.User;
 import com.hotelmanagement.system.service.BookingService;
 import com.hotelmanagement.system.service.UserService;
@@ -146,10 +145,7 @@ public class CustomerDashboardController {
             User user = userService.getUserById(userId);
 
             // Check availability
-            List<Room> availableRooms = bookingService.getAvailableRoomsByDateRangeAndType(
-                    checkInDate, checkOutDate, normalizedRoomType);
-
-            if (availableRooms.isEmpty()) {
+            if (!bookingService.isRoomTypeAvailable(checkInDate, checkOutDate, normalizedRoomType)) {
                 redirectAttributes.addFlashAttribute("error",
                         "Sorry, no " + normalizedRoomType + " rooms are available for " +
                                 checkInDate + " to " + checkOutDate + ". " +
@@ -173,7 +169,7 @@ public class CustomerDashboardController {
             booking.setStatus("PENDING");
             booking.setSpecialRequests(specialRequests);
 
-            Booking savedBooking = bookingService.saveBooking(booking);
+            Booking savedBooking = bookingService.createRoomTypeBooking(booking);
 
             redirectAttributes.addFlashAttribute("success",
                     "Booking created successfully! Booking ID: #" + savedBooking.getId() + ". " +
@@ -3,12 +3,16 @@ package com.hotelmanagement.system.controller;
 import com.hotelmanagement.system.model.*;
 import com.hotelmanagement.system.repository.PaymentRepository;
 import com.hotelmanagement.system.service.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -38,15 +42,24 @@ public class CustomerFoodOrderController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private DailyRollupService dailyRollups;
+
     /**
-     * Display food menu with cart
+     * Display food menu with cart. The ETag covers the menu catalog version,
+     * the category, the session's name and cart, and the guest's active
+     * bookings, so an unchanged repeat load is a 304 after a single booking
+     * lookup. Pages carrying a flash message are never cached.
      */
     @GetMapping("/menu")
     public String showFoodMenu(
             @RequestParam(required = false) String category,
             HttpSession session,
             Model model,
-            RedirectAttributes redirectAttributes) {
+            RedirectAttributes redirectAttributes,
+            WebRequest request,
+            HttpServletRequest servletRequest,
+            HttpServletResponse response) {
 
         Long userId = (Long) session.getAttribute("userId");
         if (userId == null) {
@@ -55,6 +68,26 @@ public class CustomerFoodOrderController {
         }
 
         try {
+            // CRITICAL: Get user's active bookings with ASSIGNED ROOMS ONLY
+            List<Booking> activeBookings = bookingService.getBookingsByUserId(userId).stream()
+                    .filter(b -> ("CONFIRMED".equals(b.getStatus()) || "CHECKED_IN".equals(b.getStatus())))
+                    .filter(b -> b.getRoom() != null) // MUST have assigned room
+                    .toList();
+
+            // A flash message shows once, so that page must not become the cached copy
+            Map<String, ?> flash = RequestContextUtils.getInputFlashMap(servletRequest);
+            if (flash != null && !flash.isEmpty()) {
+                response.setHeader("Cache-Control", "no-store");
+            } else {
+                String etag = "\"menu-" + menuItemService.getCatalogVersion() + "-" + Integer.toHexString(Objects.hash(
+                        category, session.getAttribute("userName"), cartFingerprint(getCartFromSession(session)),
+                        bookingsFingerprint(activeBookings))) + "\"";
+                response.setHeader("Cache-Control", "private, no-cache");
+                if (request.checkNotModified(etag)) {
+                    return null;
+                }
+            }
+
             User user = userService.getUserById(userId);
             model.addAttribute("user", user);
 
@@ -78,11 +111,6 @@ public class CustomerFoodOrderController {
             model.addAttribute("cartTotal", calculateCartTotal(cart));
             model.addAttribute("cartItemCount", cart.size());
 
-            // CRITICAL: Get user's active bookings with ASSIGNED ROOMS ONLY
-            List<Booking> activeBookings = bookingService.getBookingsByUserId(userId).stream()
-                    .filter(b -> ("CONFIRMED".equals(b.getStatus()) || "CHECKED_IN".equals(b.getStatus())))
-                    .filter(b -> b.getRoom() != null) // MUST have assigned room
-                    .toList();
             model.addAttribute("activeBookings", activeBookings);
 
             // Add warning if no eligible bookings
@@ -360,6 +388,7 @@ public class CustomerFoodOrderController {
 
                 // ✅ CRITICAL FIX: SAVE PAYMENT TO DATABASE
                 Payment savedPayment = paymentRepository.save(payment);
+                dailyRollups.paymentChanged(savedPayment);
                 System.out.println(String.format(
                         "✅ Food order payment saved successfully! Payment ID: #%d, Order ID: #%d, Amount: $%.2f",
                         savedPayment.getId(),
@@ -526,6 +555,25 @@ public class CustomerFoodOrderController {
         return cart;
     }
 
+    private int cartFingerprint(Map<Long, CartItem> cart) {
+        int hash = 0;
+        for (Map.Entry<Long, CartItem> entry : cart.entrySet()) {
+            MenuItem item = entry.getValue().getMenuItem();
+            hash += Objects.hash(entry.getKey(), entry.getValue().getQuantity(),
+                    item != null ? item.getName() : null, item != null ? item.getPrice() : null);
+        }
+        return hash;
+    }
+
+    private int bookingsFingerprint(List<Booking> bookings) {
+        int hash = 0;
+        for (Booking booking : bookings) {
+            hash += Objects.hash(booking.getId(), booking.getStatus(),
+                    booking.getRoom().getId(), booking.getRoom().getRoomNumber(), booking.getRoom().getType());
+        }
+        return hash;
+    }
+
     private double calculateCartTotal(Map<Long, CartItem> cart) {
         return cart.values().stream()
                 .mapToDouble(item -> item.getMenuItem().getPrice() * item.getQuantity())
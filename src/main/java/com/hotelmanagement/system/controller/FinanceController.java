@@ -1,10 +1,12 @@
 package com.hotelmanagement.system.controller;
 
 import com.hotelmanagement.system.model.Booking;
+import com.hotelmanagement.system.model.BookingStatus;
 import com.hotelmanagement.system.model.Payment;
 import com.hotelmanagement.system.model.Refund;
 import com.hotelmanagement.system.repository.BookingRepository;
 import com.hotelmanagement.system.repository.PaymentRepository;
+import com.hotelmanagement.system.service.BookingStatusCounters;
 import com.hotelmanagement.system.service.RefundService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -20,6 +22,7 @@ import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/finance")
+@RequireRole({"FINANCE_OFFICER", "ADMIN"})
 public class FinanceController {
 
     @Autowired
@@ -31,6 +34,9 @@ public class FinanceController {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private BookingStatusCounters bookingStatusCounters;
+
     /**
      * Get all transactions (payments) with detailed information
      */
@@ -139,7 +145,6 @@ public class FinanceController {
     public ResponseEntity<Map<String, Object>> getFinancialSummary() {
         List<Payment> allPayments = paymentRepository.findAll();
         List<Refund> allRefunds = refundService.getAllRefunds();
-        List<Booking> allBookings = bookingRepository.findAll();
 
         // Calculate revenues
         double totalRevenue = allPayments.stream()
@@ -181,13 +186,10 @@ public class FinanceController {
                 .filter(r -> "PENDING".equals(r.getStatus()))
                 .count();
 
-        long cancelledBookingsCount = allBookings.stream()
-                .filter(b -> "CANCELLED".equals(b.getStatus()))
-                .count();
+        long cancelledBookingsCount = bookingStatusCounters.count(BookingStatus.CANCELLED);
 
-        long activeBookingsCount = allBookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()) || "CHECKED_IN".equals(b.getStatus()))
-                .count();
+        long activeBookingsCount = bookingStatusCounters.count(BookingStatus.CONFIRMED)
+                + bookingStatusCounters.count(BookingStatus.CHECKED_IN);
 
         // Today's statistics
         LocalDateTime todayStart = LocalDate.now().atStartOfDay();
@@ -220,7 +222,7 @@ public class FinanceController {
         summary.put("pendingRefundCount", pendingRefundCount);
 
         // Booking statistics
-        summary.put("totalBookings", allBookings.size());
+        summary.put("totalBookings", bookingStatusCounters.total());
         summary.put("activeBookings", activeBookingsCount);
         summary.put("cancelledBookings", cancelledBookingsCount);
 
@@ -18,6 +18,7 @@ import java.util.Map;
 
 @Controller
 @RequestMapping("/finance")
+@RequireRole({"FINANCE_OFFICER", "ADMIN"})
 public class FinanceViewController {
 
     @Autowired
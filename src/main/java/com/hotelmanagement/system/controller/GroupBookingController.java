@@ -0,0 +1,68 @@
+package com.hotelmanagement.system.controller;
+
+import com.hotelmanagement.system.model.Booking;
+import com.hotelmanagement.system.model.GroupBookingRequest;
+import com.hotelmanagement.system.service.GroupBookingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/group-bookings")
+@RequireRole({"HOTEL_MANAGER", "ADMIN"})
+public class GroupBookingController {
+
+    @Autowired
+    private GroupBookingService groupBookingService;
+
+    /**
+     * Reserve a block of rooms for a group, on behalf of the guest account
+     * given by userId. Either every requested room is booked or none are.
+     */
+    @PostMapping
+    public ResponseEntity<?> createGroupBooking(@RequestBody GroupBookingRequest request) {
+        try {
+            if (request.getUserId() == null) {
+                return ResponseEntity.badRequest().body("User ID is required");
+            }
+
+            List<Booking> bookings = groupBookingService.createGroupBooking(request);
+
+            List<Map<String, Object>> rooms = new ArrayList<>();
+            double totalPrice = 0;
+            for (Booking booking : bookings) {
+                Map<String, Object> room = new HashMap<>();
+                room.put("bookingId", booking.getId());
+                room.put("roomId", booking.getRoom().getId());
+                room.put("roomNumber", booking.getRoom().getRoomNumber());
+                room.put("roomType", booking.getRoomType());
+                room.put("totalPrice", booking.getTotalPrice());
+                rooms.add(room);
+                totalPrice += booking.getTotalPrice();
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("roomCount", bookings.size());
+            response.put("checkInDate", request.getCheckInDate());
+            response.put("checkOutDate", request.getCheckOutDate());
+            response.put("totalPrice", totalPrice);
+            response.put("status", "PENDING");
+            response.put("bookings", rooms);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error creating group booking: " + e.getMessage());
+        }
+    }
+}
@@ -1,80 +1,94 @@
 package com.hotelmanagement.system.controller;
 
 import com.hotelmanagement.system.model.Booking;
+import com.hotelmanagement.system.model.BookingStatus;
 import com.hotelmanagement.system.model.FoodOrder;
-import com.hotelmanagement.system.model.User;
+import com.hotelmanagement.system.model.ReportJob;
+import com.hotelmanagement.system.model.UserPrincipal;
 import com.hotelmanagement.system.service.BookingService;
+import com.hotelmanagement.system.service.BookingStatusCounters;
 import com.hotelmanagement.system.service.FoodOrderService;
-import com.hotelmanagement.system.service.UserService;
+import com.hotelmanagement.system.service.ReportJobService;
 import com.hotelmanagement.system.service.ReportsService;
+import com.hotelmanagement.system.service.RowExportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import java.util.HashMap;
 import java.util.Map;
 
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @Controller
 @RequestMapping("/manager")
+@RequireRole("HOTEL_MANAGER")
 public class HotelManagerController {
 
-    @Autowired
-    private UserService userService;
+    // Request attributes Tomcat uses to send a file without copying it through the JVM
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
 
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingStatusCounters bookingStatusCounters;
+
     @Autowired
     private FoodOrderService foodOrderService;
 
     @Autowired
     private ReportsService reportsService;
 
+    @Autowired
+    private RowExportService rowExportService;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
     /**
      * Hotel Manager Dashboard
      */
     @GetMapping("/dashboard")
-    public String showManagerDashboard(HttpSession session, Model model, RedirectAttributes redirectAttributes) {
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            redirectAttributes.addFlashAttribute("error", "Please login to access your dashboard.");
-            return "redirect:/login";
-        }
-
+    public String showManagerDashboard(@RequestAttribute(RoleInterceptor.PRINCIPAL) UserPrincipal user,
+                                       Model model, RedirectAttributes redirectAttributes) {
         try {
-            User user = userService.getUserById(userId);
-            
-            // Check if user has manager role
-            if (!"HOTEL_MANAGER".equals(user.getRole())) {
-                redirectAttributes.addFlashAttribute("error", "Access denied. Manager privileges required.");
-                return "redirect:/login";
-            }
-
             model.addAttribute("user", user);
 
             // Get booking statistics
-            List<Booking> allBookings = bookingService.getAllBookings();
-            long totalBookings = allBookings.size();
-            long confirmedBookings = allBookings.stream()
-                    .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                    .count();
-            long checkedInBookings = allBookings.stream()
-                    .filter(b -> "CHECKED_IN".equals(b.getStatus()))
-                    .count();
-            long pendingBookings = allBookings.stream()
-                    .filter(b -> "PENDING".equals(b.getStatus()))
-                    .count();
+            long totalBookings = bookingStatusCounters.total();
+            long confirmedBookings = bookingStatusCounters.count(BookingStatus.CONFIRMED);
+            long checkedInBookings = bookingStatusCounters.count(BookingStatus.CHECKED_IN);
+            long pendingBookings = bookingStatusCounters.count(BookingStatus.PENDING);
 
             model.addAttribute("totalBookings", totalBookings);
             model.addAttribute("confirmedBookings", confirmedBookings);
@@ -82,9 +96,7 @@ public class HotelManagerController {
             model.addAttribute("pendingBookings", pendingBookings);
 
             // Get recent bookings
-            List<Booking> recentBookings = allBookings.stream()
-                    .limit(10)
-                    .toList();
+            List<Booking> recentBookings = bookingService.getRecentBookings();
             model.addAttribute("recentBookings", recentBookings);
 
             // Get food order statistics
@@ -108,10 +120,9 @@ public class HotelManagerController {
             model.addAttribute("recentOrders", recentOrders);
 
             // Calculate revenue (simplified)
-            double totalRevenue = allBookings.stream()
-                    .filter(b -> "CONFIRMED".equals(b.getStatus()) || "CHECKED_IN".equals(b.getStatus()) || "CHECKED_OUT".equals(b.getStatus()))
-                    .mapToDouble(b -> b.getTotalPrice())
-                    .sum();
+            double totalRevenue = bookingStatusCounters.value(BookingStatus.CONFIRMED)
+                    + bookingStatusCounters.value(BookingStatus.CHECKED_IN)
+                    + bookingStatusCounters.value(BookingStatus.CHECKED_OUT);
 
             double foodRevenue = allOrders.stream()
                     .filter(o -> "COMPLETED".equals(o.getStatus()))
@@ -132,21 +143,9 @@ public class HotelManagerController {
      * Manager Reports View
      */
     @GetMapping("/reports")
-    public String showManagerReports(HttpSession session, Model model, RedirectAttributes redirectAttributes) {
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            redirectAttributes.addFlashAttribute("error", "Please login to access reports.");
-            return "redirect:/login";
-        }
-
+    public String showManagerReports(@RequestAttribute(RoleInterceptor.PRINCIPAL) UserPrincipal user,
+                                     Model model, RedirectAttributes redirectAttributes) {
         try {
-            User user = userService.getUserById(userId);
-            
-            if (!"HOTEL_MANAGER".equals(user.getRole())) {
-                redirectAttributes.addFlashAttribute("error", "Access denied. Manager privileges required.");
-                return "redirect:/login";
-            }
-
             model.addAttribute("user", user);
             return "manager-reports";
         } catch (Exception e) {
@@ -160,31 +159,13 @@ public class HotelManagerController {
      */
     @GetMapping("/api/manager/dashboard-stats")
     @ResponseBody
-    public ResponseEntity<Map<String, Object>> getDashboardStats(HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
-        }
-
+    public ResponseEntity<Map<String, Object>> getDashboardStats() {
         try {
-            User user = userService.getUserById(userId);
-            
-            if (!"HOTEL_MANAGER".equals(user.getRole())) {
-                return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
-            }
-
             // Get booking statistics
-            List<Booking> allBookings = bookingService.getAllBookings();
-            long totalBookings = allBookings.size();
-            long confirmedBookings = allBookings.stream()
-                    .filter(b -> "CONFIRMED".equals(b.getStatus()))
-                    .count();
-            long checkedInBookings = allBookings.stream()
-                    .filter(b -> "CHECKED_IN".equals(b.getStatus()))
-                    .count();
-            long pendingBookings = allBookings.stream()
-                    .filter(b -> "PENDING".equals(b.getStatus()))
-                    .count();
+            long totalBookings = bookingStatusCounters.total();
+            long confirmedBookings = bookingStatusCounters.count(BookingStatus.CONFIRMED);
+            long checkedInBookings = bookingStatusCounters.count(BookingStatus.CHECKED_IN);
+            long pendingBookings = bookingStatusCounters.count(BookingStatus.PENDING);
 
             // Get food order statistics
             List<FoodOrder> allOrders = foodOrderService.getAllFoodOrders();
@@ -197,10 +178,9 @@ public class HotelManagerController {
                     .count();
 
             // Calculate revenue
-            double totalRevenue = allBookings.stream()
-                    .filter(b -> "CONFIRMED".equals(b.getStatus()) || "CHECKED_IN".equals(b.getStatus()) || "CHECKED_OUT".equals(b.getStatus()))
-                    .mapToDouble(b -> b.getTotalPrice())
-                    .sum();
+            double totalRevenue = bookingStatusCounters.value(BookingStatus.CONFIRMED)
+                    + bookingStatusCounters.value(BookingStatus.CHECKED_IN)
+                    + bookingStatusCounters.value(BookingStatus.CHECKED_OUT);
 
             double foodRevenue = allOrders.stream()
                     .filter(o -> "COMPLETED".equals(o.getStatus()))
@@ -231,20 +211,8 @@ public class HotelManagerController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> generateRevenueReport(
             @RequestParam String startDate,
-            @RequestParam String endDate,
-            HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
-        }
-
+            @RequestParam String endDate) {
         try {
-            User user = userService.getUserById(userId);
-            
-            if (!"HOTEL_MANAGER".equals(user.getRole())) {
-                return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
-            }
-
             LocalDate start = LocalDate.parse(startDate);
             LocalDate end = LocalDate.parse(endDate);
             
@@ -256,30 +224,19 @@ public class HotelManagerController {
     }
 
     /**
-     * Generate occupancy report
+     * Generate occupancy report, optionally for one room type
      */
     @GetMapping("/api/reports/occupancy")
     @ResponseBody
     public ResponseEntity<Map<String, Object>> generateOccupancyReport(
             @RequestParam String startDate,
             @RequestParam String endDate,
-            HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
-        }
-
+            @RequestParam(required = false) String roomType) {
         try {
-            User user = userService.getUserById(userId);
-            
-            if (!"HOTEL_MANAGER".equals(user.getRole())) {
-                return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
-            }
-
             LocalDate start = LocalDate.parse(startDate);
             LocalDate end = LocalDate.parse(endDate);
             
-            Map<String, Object> report = reportsService.generateOccupancyReport(start, end);
+            Map<String, Object> report = reportsService.generateOccupancyReport(start, end, roomType);
             return ResponseEntity.ok(report);
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("error", "Error generating occupancy report: " + e.getMessage()));
@@ -293,20 +250,8 @@ public class HotelManagerController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> generateCustomerReport(
             @RequestParam String startDate,
-            @RequestParam String endDate,
-            HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
-        }
-
+            @RequestParam String endDate) {
         try {
-            User user = userService.getUserById(userId);
-            
-            if (!"HOTEL_MANAGER".equals(user.getRole())) {
-                return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
-            }
-
             LocalDate start = LocalDate.parse(startDate);
             LocalDate end = LocalDate.parse(endDate);
             
@@ -324,20 +269,8 @@ public class HotelManagerController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> generateFoodBeverageReport(
             @RequestParam String startDate,
-            @RequestParam String endDate,
-            HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
-        }
-
+            @RequestParam String endDate) {
         try {
-            User user = userService.getUserById(userId);
-            
-            if (!"HOTEL_MANAGER".equals(user.getRole())) {
-                return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
-            }
-
             LocalDate start = LocalDate.parse(startDate);
             LocalDate end = LocalDate.parse(endDate);
             
@@ -355,20 +288,8 @@ public class HotelManagerController {
     @ResponseBody
     public ResponseEntity<Map<String, Object>> generateComprehensiveReport(
             @RequestParam String startDate,
-            @RequestParam String endDate,
-            HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
-        }
-
+            @RequestParam String endDate) {
         try {
-            User user = userService.getUserById(userId);
-            
-            if (!"HOTEL_MANAGER".equals(user.getRole())) {
-                return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
-            }
-
             LocalDate start = LocalDate.parse(startDate);
             LocalDate end = LocalDate.parse(endDate);
             
@@ -387,20 +308,8 @@ public class HotelManagerController {
     public ResponseEntity<String> exportReportAsCSV(
             @RequestParam String reportType,
             @RequestParam String startDate,
-            @RequestParam String endDate,
-            HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            return ResponseEntity.status(401).body("Not authenticated");
-        }
-
+            @RequestParam String endDate) {
         try {
-            User user = userService.getUserById(userId);
-            
-            if (!"HOTEL_MANAGER".equals(user.getRole())) {
-                return ResponseEntity.status(403).body("Access denied");
-            }
-
             LocalDate start = LocalDate.parse(startDate);
             LocalDate end = LocalDate.parse(endDate);
             
@@ -414,6 +323,53 @@ public class HotelManagerController {
         }
     }
 
+    /**
+     * Stream every booking, payment or food order in a date range as CSV.
+     * Rows go straight to the response as they are read, gzip-compressed when
+     * the client accepts it; closing the connection stops the export.
+     */
+    @GetMapping("/api/reports/export/csv/rows")
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> exportRowsAsCSV(
+            @RequestParam String type,
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String dataset;
+        LocalDate start;
+        LocalDate end;
+        try {
+            dataset = rowExportService.dataset(type);
+            start = LocalDate.parse(startDate);
+            end = LocalDate.parse(endDate);
+        } catch (Exception e) {
+            byte[] message = ("Invalid export request: " + e.getMessage()).getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(out -> out.write(message));
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        StreamingResponseBody body = out -> {
+            GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, 8192) : null;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    compressed != null ? compressed : out, StandardCharsets.UTF_8), 64 * 1024);
+            rowExportService.writeCsv(dataset, start, end, writer);
+            writer.flush();
+            if (compressed != null) {
+                compressed.finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=" + dataset + "_" + startDate + "_to_" + endDate + ".csv")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     /**
      * Generate CSV report data
      */
@@ -477,159 +433,91 @@ public class HotelManagerController {
     }
 
     /**
-     * Export report as PDF
+     * Queue a PDF report for rendering. Returns at once with a job id; poll the
+     * status URL and fetch the file from the download URL once it is done.
      */
-    @GetMapping("/api/reports/export/pdf")
+    @PostMapping("/api/reports/pdf-jobs")
     @ResponseBody
-    public ResponseEntity<byte[]> exportReportAsPDF(
+    public ResponseEntity<Map<String, Object>> submitPdfReport(
             @RequestParam String reportType,
             @RequestParam String startDate,
-            @RequestParam String endDate,
-            HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            return ResponseEntity.status(401).body(null);
-        }
-
+            @RequestParam String endDate) {
+        Map<String, Object> response = new HashMap<>();
         try {
-            User user = userService.getUserById(userId);
-
-            if (!"HOTEL_MANAGER".equals(user.getRole())) {
-                return ResponseEntity.status(403).body(null);
-            }
-
-            LocalDate start = LocalDate.parse(startDate);
-            LocalDate end = LocalDate.parse(endDate);
-
-            String html = buildReportHtml(reportType, start, end);
-
-            // Convert HTML to PDF using OpenHTMLtoPDF
-            java.io.ByteArrayOutputStream os = new java.io.ByteArrayOutputStream();
-            com.openhtmltopdf.pdfboxout.PdfRendererBuilder builder = new com.openhtmltopdf.pdfboxout.PdfRendererBuilder();
-            builder.useFastMode();
-            builder.withHtmlContent(html, null);
-            builder.toStream(os);
-            builder.run();
-            byte[] pdfBytes = os.toByteArray();
-
-            return ResponseEntity.ok()
-                    .header("Content-Type", "application/pdf")
-                    .header("Content-Disposition", "attachment; filename=" + reportType + "_report_" + startDate + "_to_" + endDate + ".pdf")
-                    .body(pdfBytes);
+            ReportJob job = reportJobService.submit(reportType, LocalDate.parse(startDate), LocalDate.parse(endDate));
+            response.put("success", true);
+            response.putAll(pdfJobStatus(job));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
         } catch (Exception e) {
-            return ResponseEntity.status(500).body(null);
+            response.put("success", false);
+            response.put("message", "Invalid report request: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         }
     }
 
-    private String buildReportHtml(String reportType, LocalDate startDate, LocalDate endDate) {
-        StringBuilder html = new StringBuilder();
-        html.append("<html><head><meta charset='UTF-8'><style>")
-            .append("body{font-family:Arial,Helvetica,sans-serif;color:#333;padding:20px;}")
-            .append("h1{font-size:20px;margin:0 0 10px}")
-            .append("h2{font-size:16px;margin:20px 0 8px}")
-            .append("table{width:100%;border-collapse:collapse;margin-top:10px}")
-            .append("th,td{border:1px solid #ddd;padding:8px;font-size:12px}")
-            .append("th{background:#f5f5f5;text-align:left}")
-            .append(".muted{color:#777;font-size:12px}")
-            .append("</style></head><body>");
-
-        html.append("<h1>").append(reportType.toUpperCase()).append(" Report</h1>");
-        html.append("<div class='muted'>Period: ")
-            .append(startDate.toString()).append(" to ")
-            .append(endDate.toString()).append("</div>");
-
-        switch (reportType.toLowerCase()) {
-            case "revenue": {
-                Map<String, Object> data = reportsService.generateRevenueReport(startDate, endDate);
-                html.append("<h2>Summary</h2>");
-                html.append("<table><tbody>")
-                    .append(row("Total Revenue", "$" + fmt(data.get("totalRevenue"))))
-                    .append(row("Booking Revenue", "$" + fmt(data.get("totalBookingRevenue"))))
-                    .append(row("Food Revenue", "$" + fmt(data.get("totalFoodRevenue"))))
-                    .append(row("Total Bookings", String.valueOf(data.get("totalBookings"))))
-                    .append(row("Total Food Orders", String.valueOf(data.get("totalFoodOrders"))))
-                    .append("</tbody></table>");
-                break;
-            }
-            case "occupancy": {
-                Map<String, Object> data = reportsService.generateOccupancyReport(startDate, endDate);
-                html.append("<h2>Daily Occupancy</h2>");
-                html.append("<table><thead><tr><th>Date</th><th>Occupied</th><th>Total</th><th>Rate</th></tr></thead><tbody>");
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> days = (List<Map<String, Object>>) data.get("dailyOccupancy");
-                for (Map<String, Object> d : days) {
-                    html.append("<tr>")
-                        .append(cell(String.valueOf(d.get("dateFormatted"))))
-                        .append(cell(String.valueOf(d.get("occupiedRooms"))))
-                        .append(cell(String.valueOf(d.get("totalRooms"))))
-                        .append(cell(String.valueOf(d.get("occupancyRate")) + "%"))
-                        .append("</tr>");
-                }
-                html.append("</tbody></table>");
-                break;
-            }
-            case "customers": {
-                Map<String, Object> data = reportsService.generateCustomerReport(startDate, endDate);
-                html.append("<h2>Top Customers</h2>");
-                html.append("<table><thead><tr><th>Name</th><th>Email</th><th>Total Spent</th><th>Bookings</th></tr></thead><tbody>");
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> customers = (List<Map<String, Object>>) data.get("topCustomers");
-                for (Map<String, Object> c : customers) {
-                    html.append("<tr>")
-                        .append(cell(String.valueOf(c.get("name"))))
-                        .append(cell(String.valueOf(c.get("email"))))
-                        .append(cell("$" + fmt(c.get("totalSpent"))))
-                        .append(cell(String.valueOf(c.get("bookingCount"))))
-                        .append("</tr>");
-                }
-                html.append("</tbody></table>");
-                break;
-            }
-            case "food-beverage": {
-                Map<String, Object> data = reportsService.generateFoodBeverageReport(startDate, endDate);
-                html.append("<h2>Summary</h2>");
-                html.append("<table><tbody>")
-                    .append(row("Total Revenue", "$" + fmt(data.get("totalRevenue"))))
-                    .append(row("Total Orders", String.valueOf(data.get("totalOrders"))))
-                    .append(row("Completed Orders", String.valueOf(data.get("completedOrders"))))
-                    .append(row("Average Order Value", "$" + fmt(data.get("averageOrderValue"))))
-                    .append("</tbody></table>");
-                break;
-            }
-            case "comprehensive": {
-                Map<String, Object> data = reportsService.generateComprehensiveReport(startDate, endDate);
-                html.append("<h2>Revenue</h2>");
-                Map<String, Object> rev = (Map<String, Object>) data.get("revenue");
-                html.append("<table><tbody>")
-                    .append(row("Total Revenue", "$" + fmt(rev.get("totalRevenue"))))
-                    .append(row("Booking Revenue", "$" + fmt(rev.get("totalBookingRevenue"))))
-                    .append(row("Food Revenue", "$" + fmt(rev.get("totalFoodRevenue"))))
-                    .append("</tbody></table>");
-                break;
-            }
-            default:
-                html.append("<p>Invalid report type</p>");
-        }
-
-        html.append("</body></html>");
-        return html.toString();
+    /**
+     * Status of a queued PDF report
+     */
+    @GetMapping("/api/reports/pdf-jobs/{jobId}")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getPdfReportStatus(@PathVariable String jobId) {
+        return reportJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(pdfJobStatus(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    private String row(String k, String v) {
-        return "<tr><th>" + k + "</th><td>" + v + "</td></tr>";
-    }
+    /**
+     * Download a finished PDF report. Tomcat sends the cached file straight
+     * from disk when it can; otherwise it is copied to the response.
+     */
+    @GetMapping("/api/reports/pdf-jobs/{jobId}/file")
+    public void downloadPdfReport(@PathVariable String jobId,
+                                  HttpServletRequest request,
+                                  HttpServletResponse response) throws IOException {
+        ReportJob job = reportJobService.getJob(jobId).orElse(null);
+        if (job == null || (job.getStatus() == ReportJob.Status.DONE && !Files.isRegularFile(job.getFile()))) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Report not found or expired");
+            return;
+        }
+        if (job.getStatus() != ReportJob.Status.DONE) {
+            response.sendError(HttpServletResponse.SC_CONFLICT, "Report is not ready yet");
+            return;
+        }
 
-    private String cell(String v) {
-        return "<td>" + v + "</td>";
+        Path file = job.getFile();
+        long size = Files.size(file);
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setContentLengthLong(size);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + job.getFileName());
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        Files.copy(file, response.getOutputStream());
     }
 
-    private String fmt(Object n) {
-        try {
-            double d = n instanceof Number ? ((Number) n).doubleValue() : Double.parseDouble(String.valueOf(n));
-            return String.format(java.util.Locale.US, "%,.2f", d);
-        } catch (Exception e) {
-            return String.valueOf(n);
+    private Map<String, Object> pdfJobStatus(ReportJob job) {
+        Map<String, Object> status = new HashMap<>();
+        status.put("jobId", job.getId());
+        status.put("status", job.getStatus().name());
+        status.put("reportType", job.getReportType());
+        status.put("startDate", job.getStartDate().toString());
+        status.put("endDate", job.getEndDate().toString());
+        status.put("statusUrl", "/manager/api/reports/pdf-jobs/" + job.getId());
+        if (job.getStatus() == ReportJob.Status.DONE) {
+            status.put("downloadUrl", "/manager/api/reports/pdf-jobs/" + job.getId() + "/file");
+        }
+        if (job.getError() != null) {
+            status.put("error", job.getError());
         }
+        return status;
     }
 
 }
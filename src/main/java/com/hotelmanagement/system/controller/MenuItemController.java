@@ -3,10 +3,12 @@ package com.hotelmanagement.system.controller;
 import com.hotelmanagement.system.model.MenuItem;
 import com.hotelmanagement.system.service.MenuItemService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -26,12 +28,19 @@ public class MenuItemController {
     private MenuItemService menuItemService;
 
     /**
-     * Get available menu items with optional category filter
+     * Get available menu items with optional category filter.
+     * The ETag follows the catalog version, so repeat loads get a 304.
      */
     @GetMapping("/available")
     public ResponseEntity<Map<String, Object>> getAvailableMenuItems(
-            @RequestParam(required = false) String category) {
+            @RequestParam(required = false) String category,
+            WebRequest request) {
         try {
+            String etag = catalogETag("available");
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+
             List<MenuItem> items;
 
             if (category != null && !category.isEmpty() && !category.equalsIgnoreCase("all")) {
@@ -45,7 +54,10 @@ public class MenuItemController {
             response.put("items", items);
             response.put("category", category != null ? category : "all");
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .body(response);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "Failed to retrieve menu items: " + e.getMessage());
@@ -57,15 +69,23 @@ public class MenuItemController {
      * Get all menu categories
      */
     @GetMapping("/categories")
-    public ResponseEntity<Map<String, Object>> getMenuCategories() {
+    public ResponseEntity<Map<String, Object>> getMenuCategories(WebRequest request) {
         try {
+            String etag = catalogETag("categories");
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+
             List<String> categories = menuItemService.getAllCategories();
 
             Map<String, Object> response = new HashMap<>();
             response.put("count", categories.size());
             response.put("categories", categories);
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .body(response);
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "Failed to retrieve categories: " + e.getMessage());
@@ -163,6 +183,32 @@ public class MenuItemController {
         }
     }
 
+    /**
+     * Create several menu items in one request; all are saved or none is
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, Object>> createMenuItems(@RequestBody List<@Valid MenuItem> menuItems) {
+        try {
+            List<MenuItem> created = menuItemService.createMenuItems(menuItems);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", created.size() + " menu items created successfully");
+            response.put("count", created.size());
+            response.put("items", created);
+
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", "Failed to create menu items: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(error);
+        }
+    }
+
     /**
      * Update an existing menu item with validation
      */
@@ -248,17 +294,21 @@ public class MenuItemController {
     }
 
     /**
-     * Search menu items by name or description
+     * Search menu items by name or description, with optional category and availability filters
      */
     @GetMapping("/search")
-    public ResponseEntity<Map<String, Object>> searchMenuItems(@RequestParam @NotBlank String keyword) {
+    public ResponseEntity<Map<String, Object>> searchMenuItems(
+            @RequestParam @NotBlank String keyword,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "false") boolean available) {
         try {
-            List<MenuItem> items = menuItemService.searchMenuItems(keyword);
+            List<MenuItem> items = menuItemService.searchMenuItems(keyword, category, available);
 
             Map<String, Object> response = new HashMap<>();
             response.put("count", items.size());
             response.put("items", items);
             response.put("keyword", keyword);
+            response.put("category", category != null ? category : "all");
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -267,4 +317,8 @@ public class MenuItemController {
             return ResponseEntity.internalServerError().body(error);
         }
     }
+
+    private String catalogETag(String view) {
+        return "\"" + view + "-" + menuItemService.getCatalogVersion() + "\"";
+    }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.hotelmanagement.system.controller;
 
 import com.hotelmanagement.system.model.*;
+import com.hotelmanagement.system.service.ReportEntryImportService;
 import com.hotelmanagement.system.service.ReportingService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -9,6 +11,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -18,11 +24,15 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/reports")
 @CrossOrigin(origins = "*")
+@RequireRole({"FINANCE_OFFICER", "ADMIN"})
 public class ReportingController {
 
     @Autowired
     private ReportingService reportingService;
 
+    @Autowired
+    private ReportEntryImportService entryImportService;
+
     // ==================== NON-FINANCIAL REPORTS ====================
 
     @GetMapping("/occupancy")
@@ -72,6 +82,7 @@ public class ReportingController {
             @RequestParam(required = false) String description,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "false") boolean autoPopulate,
             HttpSession session) {
         try {
             String generatedBy = (String) session.getAttribute("userName");
@@ -80,7 +91,7 @@ public class ReportingController {
             }
 
             Report report = reportingService.createReport(reportType, reportName, description,
-                    startDate, endDate, generatedBy);
+                    startDate, endDate, generatedBy, autoPopulate);
             return ResponseEntity.status(HttpStatus.CREATED).body(report);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
@@ -232,6 +243,35 @@ public class ReportingController {
     }
 
 
+    // ==================== BULK IMPORT ====================
+
+    /**
+     * Import revenue and expense entries from a CSV request body, one
+     * "type,source or category,description,amount,yyyy-MM-dd" line per entry.
+     * The body is read as it arrives. Unless skipInvalid is set, nothing is
+     * imported if any line is invalid; the response lists problems by line.
+     */
+    @PostMapping(value = "/{reportId}/entries/import", consumes = {"text/csv", "text/plain", "application/octet-stream"})
+    public ResponseEntity<?> importEntries(
+            @PathVariable Long reportId,
+            @RequestParam(defaultValue = "false") boolean skipInvalid,
+            HttpServletRequest request,
+            HttpSession session) {
+        try {
+            String createdBy = (String) session.getAttribute("userName");
+            Reader csv = new BufferedReader(
+                    new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8), 64 * 1024);
+
+            Map<String, Object> result = entryImportService.importCsv(reportId, csv, skipInvalid, createdBy);
+            HttpStatus status = Boolean.TRUE.equals(result.get("success")) ? HttpStatus.OK : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status).body(result);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
     // ==================== REPORT MANAGEMENT ====================
 
     @GetMapping
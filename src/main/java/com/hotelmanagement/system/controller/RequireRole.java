@@ -0,0 +1,19 @@
+package com.hotelmanagement.system.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a controller, or one handler method, to signed-in users with one
+ * of the given roles. Enforced by RoleInterceptor; a method-level annotation
+ * overrides the class-level one.
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequireRole {
+    String[] value();
+}
@@ -1,11 +1,14 @@
 package com.hotelmanagement.system.controller;
 
 import com.hotelmanagement.system.model.Booking;
+import com.hotelmanagement.system.model.BookingPage;
+import com.hotelmanagement.system.model.BookingSummary;
 import com.hotelmanagement.system.model.Room;
 import com.hotelmanagement.system.model.User;
 import com.hotelmanagement.system.service.BookingService;
 import com.hotelmanagement.system.service.EmailService;
 import com.hotelmanagement.system.service.EmailServiceImpl;
+import com.hotelmanagement.system.service.RoomAssignmentService;
 import com.hotelmanagement.system.service.UserService;
 import com.hotelmanagement.system.util.CalendarDay;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,23 +22,29 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/reservations")
 public class ReservationController {
 
+    private static final int CALENDAR_DAYS = 42;
+
     private final BookingService bookingService;
     private final UserService userService;
     private final EmailService emailService;
+    private final RoomAssignmentService roomAssignmentService;
 
     @Autowired
     public ReservationController(BookingService bookingService,
                                  UserService userService,
-                                 EmailService emailService) {
+                                 EmailService emailService,
+                                 RoomAssignmentService roomAssignmentService) {
         this.bookingService = bookingService;
         this.userService = userService;
         this.emailService = emailService;
+        this.roomAssignmentService = roomAssignmentService;
     }
 
     @GetMapping
@@ -44,28 +53,41 @@ public class ReservationController {
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) @DateTimeFormat(pattern="yyyy-MM") YearMonth month,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false, defaultValue = "25") int size,
             Model model) {
 
-        List<Booking> bookings = bookingService.getAllBookings();
+        boolean hasSearch = search != null && !search.isEmpty();
+        String filterStatus = (status != null && !status.isEmpty() && !status.equalsIgnoreCase("ALL")) ? status : null;
+        boolean calendarView = "calendar".equals(view);
 
-        if (search != null && !search.isEmpty()) {
+        List<Booking> bookings = new ArrayList<>();
+        if (hasSearch) {
             bookings = bookingService.searchBookings(search);
             model.addAttribute("searchTerm", search);
-        } else if (status != null && !status.isEmpty() && !status.equalsIgnoreCase("ALL")) {
-            final String filterStatus = status;
-            bookings = bookings.stream()
-                    .filter(b -> filterStatus.equals(b.getStatus()))
-                    .collect(Collectors.toList());
+        } else if (!calendarView) {
+            BookingPage page = bookingService.getBookingsPage(filterStatus, before, after, size);
+            bookings = page.getBookings();
+            model.addAttribute("newerCursor", page.getNewerCursor());
+            model.addAttribute("olderCursor", page.getOlderCursor());
+            model.addAttribute("pageSize", size);
         }
 
         YearMonth currentMonth = (month == null) ? YearMonth.now() : month;
-        model.addAttribute("calendarDays", buildCalendar(currentMonth, bookings));
+        if (calendarView) {
+            LocalDate calendarStart = calendarStart(currentMonth);
+            LocalDate calendarEnd = calendarStart.plusDays(CALENDAR_DAYS - 1);
+            List<BookingSummary> summaries = hasSearch
+                    ? bookings.stream().map(BookingSummary::from).collect(Collectors.toList())
+                    : bookingService.getCalendarBookings(calendarStart, calendarEnd, filterStatus);
+            model.addAttribute("calendarDays", buildCalendar(currentMonth, summaries));
+        }
         model.addAttribute("currentMonth", currentMonth.atDay(1));
         model.addAttribute("prevMonth", currentMonth.minusMonths(1));
         model.addAttribute("nextMonth", currentMonth.plusMonths(1));
         model.addAttribute("bookings", bookings);
         model.addAttribute("stats", bookingService.getBookingStatistics());
-        model.addAttribute("allUsers", userService.getAllUsers());
         model.addAttribute("selectedStatus", status != null ? status : "ALL");
         model.addAttribute("currentView", view);
 
@@ -190,6 +212,26 @@ public class ReservationController {
         return "redirect:/reservations/" + id + "/details";
     }
 
+    /**
+     * Run the room assignment engine now for upcoming confirmed bookings
+     */
+    @PostMapping("/auto-assign")
+    public String autoAssignRooms(
+            @RequestParam(required = false, defaultValue = "14") int days,
+            RedirectAttributes redirectAttributes) {
+
+        try {
+            Map<String, Object> result = roomAssignmentService.assignUpcomingBookings(days);
+            redirectAttributes.addFlashAttribute("success",
+                    result.get("assignedCount") + " booking(s) assigned a room. "
+                            + result.get("unassignedCount") + " could not be assigned.");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error assigning rooms: " + e.getMessage());
+        }
+
+        return "redirect:/reservations";
+    }
+
     @PostMapping("/create")
     public String createBooking(
             @RequestParam Long userId,
@@ -243,29 +285,42 @@ public class ReservationController {
         return "redirect:/reservations";
     }
 
-    private List<CalendarDay> buildCalendar(YearMonth month, List<Booking> allBookings) {
-        List<CalendarDay> days = new ArrayList<>();
-        LocalDate firstOfMonth = month.atDay(1);
-        int startDayOfWeek = firstOfMonth.getDayOfWeek().getValue() % 7;
-        LocalDate calendarStart = firstOfMonth.minusDays(startDayOfWeek);
+    /**
+     * Six-week grid for the month. Each booking is visited once and dropped
+     * into the grid days between its check-in and check-out (inclusive),
+     * clipped to the grid.
+     */
+    private List<CalendarDay> buildCalendar(YearMonth month, List<BookingSummary> bookings) {
+        List<CalendarDay> days = new ArrayList<>(CALENDAR_DAYS);
+        LocalDate calendarStart = calendarStart(month);
+        LocalDate today = LocalDate.now();
 
-        for (int i = 0; i < 42; i++) {
+        for (int i = 0; i < CALENDAR_DAYS; i++) {
             LocalDate date = calendarStart.plusDays(i);
-            CalendarDay day = new CalendarDay(
+            days.add(new CalendarDay(
                     date.getDayOfMonth(),
-                    date.equals(LocalDate.now()),
+                    date.equals(today),
                     date.getMonth().equals(month.getMonth())
-            );
+            ));
+        }
 
-            for (Booking booking : allBookings) {
-                if (!booking.getCheckInDate().isAfter(date) && !booking.getCheckOutDate().isBefore(date)) {
-                    day.getBookings().add(booking);
-                }
+        long startEpochDay = calendarStart.toEpochDay();
+        for (BookingSummary booking : bookings) {
+            if (booking.getCheckInDate() == null || booking.getCheckOutDate() == null) {
+                continue;
+            }
+            long first = Math.max(0, booking.getCheckInDate().toEpochDay() - startEpochDay);
+            long last = Math.min(CALENDAR_DAYS - 1, booking.getCheckOutDate().toEpochDay() - startEpochDay);
+            for (long i = first; i <= last; i++) {
+                days.get((int) i).getBookings().add(booking);
             }
-
-            days.add(day);
         }
 
         return days;
     }
+
+    private static LocalDate calendarStart(YearMonth month) {
+        LocalDate firstOfMonth = month.atDay(1);
+        return firstOfMonth.minusDays(firstOfMonth.getDayOfWeek().getValue() % 7);
+    }
 }
\ No newline at end of file
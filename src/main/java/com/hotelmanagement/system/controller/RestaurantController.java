@@ -19,6 +19,7 @@ import java.util.Map;
 
 @Controller
 @RequestMapping("/restaurant")
+@RequireRole({"RESTAURANT_MANAGER", "HOTEL_MANAGER", "ADMIN"})
 public class RestaurantController {
 
     @Autowired
@@ -52,7 +53,7 @@ public class RestaurantController {
             // Get menu items based on search/filter
             List<MenuItem> menuItems;
             if (menuSearch != null && !menuSearch.isEmpty()) {
-                menuItems = menuItemService.searchMenuItems(menuSearch);
+                menuItems = menuItemService.searchMenuItems(menuSearch, category, false);
             } else if (category != null && !category.isEmpty()) {
                 menuItems = menuItemService.findItemsByCategory(category);
             } else {
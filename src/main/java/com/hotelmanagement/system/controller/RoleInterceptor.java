@@ -0,0 +1,94 @@
+package com.hotelmanagement.system.controller;
+
+import com.hotelmanagement.system.model.UserPrincipal;
+import com.hotelmanagement.system.service.PrincipalCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.FlashMap;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.io.IOException;
+
+/**
+ * Enforces @RequireRole. Resolves the session's user to a cached principal,
+ * so the check costs no database work on a warm cache, and exposes it to the
+ * handler as the {@value #PRINCIPAL} request attribute.
+ *
+ * Pages are redirected to the login page with an error; APIs get a JSON
+ * 401 or 403.
+ */
+@Component
+public class RoleInterceptor implements HandlerInterceptor {
+
+    public static final String PRINCIPAL = "principal";
+
+    private final PrincipalCache principalCache;
+
+    @Autowired
+    public RoleInterceptor(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        RequireRole rule = method.getMethodAnnotation(RequireRole.class);
+        if (rule == null) {
+            rule = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), RequireRole.class);
+        }
+        if (rule == null) {
+            return true;
+        }
+
+        HttpSession session = request.getSession(false);
+        Long userId = session != null ? (Long) session.getAttribute("userId") : null;
+        UserPrincipal principal = userId != null ? principalCache.get(userId) : null;
+
+        if (principal == null) {
+            deny(request, response, method, HttpServletResponse.SC_UNAUTHORIZED,
+                    "Not authenticated", "Please login to access this page.");
+            return false;
+        }
+        if (!principal.hasAnyRole(rule.value())) {
+            deny(request, response, method, HttpServletResponse.SC_FORBIDDEN,
+                    "Access denied", "Access denied. You don't have permission to access this page.");
+            return false;
+        }
+
+        request.setAttribute(PRINCIPAL, principal);
+        return true;
+    }
+
+    private static void deny(HttpServletRequest request, HttpServletResponse response, HandlerMethod method,
+                             int status, String apiMessage, String pageMessage) throws IOException {
+        if (returnsBody(method)) {
+            response.setStatus(status);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"" + apiMessage + "\"}");
+            return;
+        }
+
+        FlashMap flashMap = RequestContextUtils.getOutputFlashMap(request);
+        flashMap.put("error", pageMessage);
+        RequestContextUtils.saveOutputFlashMap("/login", request, response);
+        response.sendRedirect(request.getContextPath() + "/login");
+    }
+
+    private static boolean returnsBody(HandlerMethod method) {
+        return ResponseEntity.class.isAssignableFrom(method.getMethod().getReturnType())
+                || method.hasMethodAnnotation(ResponseBody.class)
+                || AnnotatedElementUtils.hasAnnotation(method.getBeanType(), ResponseBody.class);
+    }
+}
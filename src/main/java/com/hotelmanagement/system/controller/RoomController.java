@@ -1,17 +1,22 @@
 package com.hotelmanagement.system.controller;
 
+import com.hotelmanagement.system.model.AvailabilityWindow;
 import com.hotelmanagement.system.model.Room;
 import com.hotelmanagement.system.service.BookingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/rooms")
@@ -32,4 +37,66 @@ public class RoomController {
         List<Room> rooms = bookingService.getAvailableRoomsByDateRange(checkInDate, checkOutDate);
         return ResponseEntity.ok(rooms);
     }
+
+    /**
+     * Remaining rooms per type for the stay, answered from the in-memory
+     * nightly counters. Cheap enough for the booking form to poll.
+     */
+    @GetMapping("/inventory")
+    public ResponseEntity<Map<String, Integer>> getRemainingInventory(
+            @RequestParam("checkInDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam("checkOutDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
+            @RequestParam(value = "roomType", required = false) String roomType) {
+
+        if (roomType != null && !roomType.isBlank()) {
+            int remaining = bookingService.getRemainingRooms(checkInDate, checkOutDate, roomType);
+            return ResponseEntity.ok(Map.of(roomType.trim().toUpperCase(), remaining));
+        }
+        return ResponseEntity.ok(bookingService.getRemainingRoomsByType(checkInDate, checkOutDate));
+    }
+
+    /**
+     * Remaining inventory per room type per night for a month, as one compact
+     * array per type; nights before today are null. The ETag follows the
+     * availability version and the current day, so repeat loads of an
+     * unchanged month get a 304.
+     */
+    @GetMapping("/heatmap")
+    public ResponseEntity<?> getAvailabilityHeatmap(
+            @RequestParam(value = "month", required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            WebRequest request) {
+
+        YearMonth target = (month == null) ? YearMonth.now() : month;
+        String etag = "\"" + target + "-" + LocalDate.now() + "-" + bookingService.getAvailabilityVersion() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(bookingService.getAvailabilityHeatmap(target));
+    }
+
+    /**
+     * "When can I get a SUITE for 3 nights, and what's cheapest?"
+     * Returns the top check-in dates within the horizon, ranked by price or date.
+     */
+    @GetMapping("/flexible-search")
+    public ResponseEntity<?> flexibleDateSearch(
+            @RequestParam("roomType") String roomType,
+            @RequestParam("nights") int nights,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "days", defaultValue = "90") int days,
+            @RequestParam(value = "sort", defaultValue = "price") String sort,
+            @RequestParam(value = "limit", defaultValue = "5") int limit) {
+
+        try {
+            LocalDate start = (from == null) ? LocalDate.now() : from;
+            List<AvailabilityWindow> windows = bookingService.findFlexibleDates(roomType, nights, start, days, sort, limit);
+            return ResponseEntity.ok(windows);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -9,7 +9,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -205,6 +207,24 @@ public class UserController {
         }
     }
 
+    /**
+     * Typeahead for staff screens: users whose name or email starts with {@code q}
+     */
+    @GetMapping("/search")
+    @RequireRole({"HOTEL_MANAGER", "ADMIN"})
+    public ResponseEntity<?> searchUsers(@RequestParam String q,
+                                         @RequestParam(defaultValue = "10") int limit) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (User user : userService.searchUsersByPrefix(q, limit)) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("id", user.getId());
+            entry.put("name", user.getName());
+            entry.put("email", user.getEmail());
+            results.add(entry);
+        }
+        return ResponseEntity.ok(results);
+    }
+
     @GetMapping("/{userId}")
     public ResponseEntity<?> getUserById(@PathVariable Long userId) {
         try {
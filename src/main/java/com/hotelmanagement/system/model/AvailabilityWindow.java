@@ -0,0 +1,78 @@
+package com.hotelmanagement.system.model;
+
+import java.time.LocalDate;
+
+/**
+ * One bookable stay found by the flexible-date search
+ */
+public class AvailabilityWindow {
+    private String roomType;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private int nights;
+    private int roomsLeft;
+    private double pricePerNight;
+
+    public AvailabilityWindow() {}
+
+    public AvailabilityWindow(String roomType, LocalDate checkInDate, int nights, int roomsLeft, double pricePerNight) {
+        this.roomType = roomType;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkInDate.plusDays(nights);
+        this.nights = nights;
+        this.roomsLeft = roomsLeft;
+        this.pricePerNight = pricePerNight;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public void setCheckInDate(LocalDate checkInDate) {
+        this.checkInDate = checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public void setCheckOutDate(LocalDate checkOutDate) {
+        this.checkOutDate = checkOutDate;
+    }
+
+    public int getNights() {
+        return nights;
+    }
+
+    public void setNights(int nights) {
+        this.nights = nights;
+    }
+
+    public int getRoomsLeft() {
+        return roomsLeft;
+    }
+
+    public void setRoomsLeft(int roomsLeft) {
+        this.roomsLeft = roomsLeft;
+    }
+
+    public double getPricePerNight() {
+        return pricePerNight;
+    }
+
+    public void setPricePerNight(double pricePerNight) {
+        this.pricePerNight = pricePerNight;
+    }
+
+    public double getTotalPrice() {
+        return pricePerNight * nights;
+    }
+}
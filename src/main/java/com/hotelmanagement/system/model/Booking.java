@@ -8,7 +8,10 @@ import jakarta.validation.constraints.Positive;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_stay_dates", columnList = "check_in_date, check_out_date"),
+        @Index(name = "idx_bookings_status_id", columnList = "status, id")
+})
 public class Booking {
 
     @Id
@@ -0,0 +1,23 @@
+package com.hotelmanagement.system.model;
+
+import java.util.List;
+
+/**
+ * One page of the reservations list, newest booking first.
+ * The cursors are booking IDs to page from; null when there is no such page.
+ */
+public class BookingPage {
+    private final List<Booking> bookings;
+    private final Long newerCursor;
+    private final Long olderCursor;
+
+    public BookingPage(List<Booking> bookings, Long newerCursor, Long olderCursor) {
+        this.bookings = bookings;
+        this.newerCursor = newerCursor;
+        this.olderCursor = olderCursor;
+    }
+
+    public List<Booking> getBookings() { return bookings; }
+    public Long getNewerCursor() { return newerCursor; }
+    public Long getOlderCursor() { return olderCursor; }
+}
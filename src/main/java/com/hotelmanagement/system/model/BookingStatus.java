@@ -0,0 +1,55 @@
+package com.hotelmanagement.system.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Booking lifecycle. Stored on {@link Booking} as its name, so the column
+ * values are unchanged.
+ *
+ * PENDING -> CONFIRMED (after payment) -> CHECKED_IN -> CHECKED_OUT,
+ * and PENDING or CONFIRMED -> CANCELLED.
+ */
+public enum BookingStatus {
+    PENDING,
+    CONFIRMED,
+    CHECKED_IN,
+    CHECKED_OUT,
+    CANCELLED;
+
+    private Set<BookingStatus> next;
+
+    static {
+        PENDING.next = EnumSet.of(CONFIRMED, CANCELLED);
+        CONFIRMED.next = EnumSet.of(CHECKED_IN, CANCELLED);
+        CHECKED_IN.next = EnumSet.of(CHECKED_OUT);
+        CHECKED_OUT.next = EnumSet.noneOf(BookingStatus.class);
+        CANCELLED.next = EnumSet.noneOf(BookingStatus.class);
+    }
+
+    /**
+     * Whether a booking in this state may move to {@code target}.
+     * Re-applying the current state is allowed (e.g. a repeated payment callback).
+     */
+    public boolean canTransitionTo(BookingStatus target) {
+        return this == target || next.contains(target);
+    }
+
+    public boolean isTerminal() {
+        return next.isEmpty();
+    }
+
+    /**
+     * Parse a stored or submitted status name (case-insensitive)
+     */
+    public static BookingStatus from(String status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Booking status is required");
+        }
+        try {
+            return BookingStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown booking status: " + status);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.hotelmanagement.system.model;
+
+import java.time.LocalDate;
+
+/**
+ * The few booking fields the reservation calendar shows, loaded as a flat
+ * projection instead of full Booking entities
+ */
+public class BookingSummary {
+    private Long id;
+    private String guestName;
+    private String roomNumber;
+    private String roomType;
+    private String status;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+
+    public BookingSummary() {}
+
+    public BookingSummary(Long id, String guestName, String roomNumber, String roomType,
+                          String status, LocalDate checkInDate, LocalDate checkOutDate) {
+        this.id = id;
+        this.guestName = guestName;
+        this.roomNumber = roomNumber;
+        this.roomType = roomType;
+        this.status = status;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+    }
+
+    public static BookingSummary from(Booking booking) {
+        return new BookingSummary(
+                booking.getId(),
+                booking.getUser() != null ? booking.getUser().getName() : null,
+                booking.getRoom() != null ? booking.getRoom().getRoomNumber() : null,
+                booking.getRoomType(),
+                booking.getStatus(),
+                booking.getCheckInDate(),
+                booking.getCheckOutDate());
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getGuestName() { return guestName; }
+    public void setGuestName(String guestName) { this.guestName = guestName; }
+    public String getRoomNumber() { return roomNumber; }
+    public void setRoomNumber(String roomNumber) { this.roomNumber = roomNumber; }
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public LocalDate getCheckInDate() { return checkInDate; }
+    public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
+    public LocalDate getCheckOutDate() { return checkOutDate; }
+    public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+}
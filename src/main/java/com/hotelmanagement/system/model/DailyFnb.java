@@ -0,0 +1,78 @@
+package com.hotelmanagement.system.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Food orders placed on one day in one status, with their total value,
+ * maintained by DailyRollupService
+ */
+@Entity
+@Table(name = "daily_fnb", uniqueConstraints =
+        @UniqueConstraint(name = "uk_daily_fnb_day_status", columnNames = {"day", "status"}))
+public class DailyFnb {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(nullable = false)
+    private long orders;
+
+    @Column(name = "order_value", nullable = false)
+    private double orderValue;
+
+    public DailyFnb() {}
+
+    public DailyFnb(LocalDate day, String status) {
+        this.day = day;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public void setOrders(long orders) {
+        this.orders = orders;
+    }
+
+    public double getOrderValue() {
+        return orderValue;
+    }
+
+    public void setOrderValue(double orderValue) {
+        this.orderValue = orderValue;
+    }
+}
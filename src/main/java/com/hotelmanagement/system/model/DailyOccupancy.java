@@ -0,0 +1,55 @@
+package com.hotelmanagement.system.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Rooms occupied on one night, maintained by DailyRollupService. A booking
+ * occupies the nights from check-in up to, not including, check-out.
+ */
+@Entity
+@Table(name = "daily_occupancy")
+public class DailyOccupancy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private LocalDate day;
+
+    @Column(name = "occupied_rooms", nullable = false)
+    private int occupiedRooms;
+
+    public DailyOccupancy() {}
+
+    public DailyOccupancy(LocalDate day, int occupiedRooms) {
+        this.day = day;
+        this.occupiedRooms = occupiedRooms;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public int getOccupiedRooms() {
+        return occupiedRooms;
+    }
+
+    public void setOccupiedRooms(int occupiedRooms) {
+        this.occupiedRooms = occupiedRooms;
+    }
+}
@@ -0,0 +1,90 @@
+package com.hotelmanagement.system.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * One day of booking and payment revenue, maintained by DailyRollupService.
+ * Bookings count on their check-in day; payments on their transaction day.
+ */
+@Entity
+@Table(name = "daily_revenue")
+public class DailyRevenue {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private LocalDate day;
+
+    // Bookings checking in this day, in any status
+    @Column(nullable = false)
+    private long bookings;
+
+    // Value of this day's check-ins that are confirmed, checked in or checked out
+    @Column(name = "booking_revenue", nullable = false)
+    private double bookingRevenue;
+
+    // Successful payments taken this day
+    @Column(nullable = false)
+    private long payments;
+
+    @Column(name = "payment_amount", nullable = false)
+    private double paymentAmount;
+
+    public DailyRevenue() {}
+
+    public DailyRevenue(LocalDate day) {
+        this.day = day;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public long getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(long bookings) {
+        this.bookings = bookings;
+    }
+
+    public double getBookingRevenue() {
+        return bookingRevenue;
+    }
+
+    public void setBookingRevenue(double bookingRevenue) {
+        this.bookingRevenue = bookingRevenue;
+    }
+
+    public long getPayments() {
+        return payments;
+    }
+
+    public void setPayments(long payments) {
+        this.payments = payments;
+    }
+
+    public double getPaymentAmount() {
+        return paymentAmount;
+    }
+
+    public void setPaymentAmount(double paymentAmount) {
+        this.paymentAmount = paymentAmount;
+    }
+}
@@ -7,7 +7,9 @@ import java.util.List;
 import java.util.Map;
 
 @Entity
-@Table(name = "food_orders")
+@Table(name = "food_orders", indexes = {
+        @Index(name = "idx_food_orders_ordered_at", columnList = "ordered_at")
+})
 public class FoodOrder {
 
     @Id
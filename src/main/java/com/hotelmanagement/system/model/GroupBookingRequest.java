@@ -0,0 +1,57 @@
+package com.hotelmanagement.system.model;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Request body for reserving a block of rooms for one group in one go
+ */
+public class GroupBookingRequest {
+    private Long userId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    // Room type (SINGLE, DOUBLE, SUITE) -> number of rooms wanted
+    private Map<String, Integer> roomsByType;
+    private String specialRequests;
+
+    // Getters and setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public void setCheckInDate(LocalDate checkInDate) {
+        this.checkInDate = checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public void setCheckOutDate(LocalDate checkOutDate) {
+        this.checkOutDate = checkOutDate;
+    }
+
+    public Map<String, Integer> getRoomsByType() {
+        return roomsByType;
+    }
+
+    public void setRoomsByType(Map<String, Integer> roomsByType) {
+        this.roomsByType = roomsByType;
+    }
+
+    public String getSpecialRequests() {
+        return specialRequests;
+    }
+
+    public void setSpecialRequests(String specialRequests) {
+        this.specialRequests = specialRequests;
+    }
+}
@@ -1,10 +1,15 @@
 package com.hotelmanagement.system.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
+import java.text.Normalizer;
+import java.util.Locale;
+
 @Entity
-@Table(name = "menu_items")
+@Table(name = "menu_items", uniqueConstraints =
+        @UniqueConstraint(name = "uk_menu_items_normalized_name", columnNames = "normalized_name"))
 public class MenuItem {
 
     @Id
@@ -34,12 +39,30 @@ public class MenuItem {
     @Column(name = "category", nullable = false)
     private String category = "Main Courses";
 
+    // Name as used for duplicate detection; kept in step with name on every save
+    @JsonIgnore
+    @Column(name = "normalized_name", length = 100)
+    private String normalizedName;
+
     @PrePersist
     @PreUpdate
-    void ensureCategoryNotNull() {
+    void beforeSave() {
         if (category == null || category.trim().isEmpty()) {
             category = "Main Courses";
         }
+        normalizedName = normalizeName(name);
+    }
+
+    /**
+     * Case-, width- and spacing-insensitive form of a menu item name,
+     * so "Caesar  salad" and "caesar salad" count as the same item
+     */
+    public static String normalizeName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String folded = Normalizer.normalize(name, Normalizer.Form.NFKC);
+        return folded.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
     }
 
     // Getters and Setters
@@ -91,6 +114,10 @@ public class MenuItem {
         isAvailable = available;
     }
 
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+
     public String getCategory() {
         return category;
     }
@@ -0,0 +1,96 @@
+package com.hotelmanagement.system.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A PDF report being rendered in the background, and where the result goes.
+ * Jobs live in memory; the rendered files are kept in the report cache directory.
+ */
+public class ReportJob {
+
+    public enum Status { PENDING, RUNNING, DONE, FAILED }
+
+    private final String id;
+    private final String reportType;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    @JsonIgnore
+    private final Path file;
+
+    private volatile Status status = Status.PENDING;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    public ReportJob(String id, String reportType, LocalDate startDate, LocalDate endDate, Path file) {
+        this.id = id;
+        this.reportType = reportType;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.file = file;
+    }
+
+    public void markRunning() {
+        status = Status.RUNNING;
+    }
+
+    public void markDone() {
+        finishedAt = LocalDateTime.now();
+        status = Status.DONE;
+    }
+
+    public void markFailed(String error) {
+        this.error = error;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    /**
+     * Name to offer when the PDF is downloaded
+     */
+    public String getFileName() {
+        return reportType + "_report_" + startDate + "_to_" + endDate + ".pdf";
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getReportType() {
+        return reportType;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
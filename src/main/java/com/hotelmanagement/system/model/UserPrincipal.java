@@ -0,0 +1,34 @@
+package com.hotelmanagement.system.model;
+
+import java.util.Arrays;
+
+/**
+ * The signed-in user as far as authorisation cares: an immutable snapshot of
+ * the user's ID, name, email and role
+ */
+public final class UserPrincipal {
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String role;
+
+    public UserPrincipal(Long id, String name, String email, String role) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getName(), user.getEmail(), user.getRole());
+    }
+
+    public boolean hasAnyRole(String... roles) {
+        return role != null && Arrays.asList(roles).contains(role);
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getEmail() { return email; }
+    public String getRole() { return role; }
+}
@@ -1,14 +1,20 @@
 package com.hotelmanagement.system.repository;
 
 import com.hotelmanagement.system.model.Booking;
+import com.hotelmanagement.system.model.BookingSummary;
 import com.hotelmanagement.system.model.Room;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -23,18 +29,107 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      */
     List<Booking> findByUserId(Long userId);
 
+    // --- Bookings still waiting for a physical room, oldest arrival first ---
+    @Query("SELECT b FROM Booking b WHERE b.room IS NULL AND b.status = :status " +
+            "AND b.checkInDate BETWEEN :from AND :to ORDER BY b.checkInDate, b.checkOutDate DESC")
+    List<Booking> findUnassignedByStatusAndCheckInBetween(@Param("status") String status,
+                                                          @Param("from") LocalDate from,
+                                                          @Param("to") LocalDate to);
+
+    // --- Keyset pages for the reservations list (newest first), optionally one status ---
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user LEFT JOIN FETCH b.room " +
+            "WHERE (:status IS NULL OR b.status = :status) AND (:beforeId IS NULL OR b.id < :beforeId) " +
+            "ORDER BY b.id DESC")
+    List<Booking> findPageBefore(@Param("status") String status, @Param("beforeId") Long beforeId, Limit limit);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user LEFT JOIN FETCH b.room " +
+            "WHERE (:status IS NULL OR b.status = :status) AND b.id > :afterId " +
+            "ORDER BY b.id ASC")
+    List<Booking> findPageAfter(@Param("status") String status, @Param("afterId") Long afterId, Limit limit);
+
+    // --- Calendar rows for every booking on site between two dates (inclusive) ---
+    @Query("SELECT new com.hotelmanagement.system.model.BookingSummary(" +
+            "b.id, u.name, r.roomNumber, b.roomType, b.status, b.checkInDate, b.checkOutDate) " +
+            "FROM Booking b JOIN b.user u LEFT JOIN b.room r " +
+            "WHERE b.checkInDate <= :to AND b.checkOutDate >= :from " +
+            "AND (:status IS NULL OR b.status = :status) ORDER BY b.checkInDate, b.id")
+    List<BookingSummary> findCalendarSummaries(@Param("from") LocalDate from,
+                                               @Param("to") LocalDate to,
+                                               @Param("status") String status);
+
     // --- Method for statistics cards ---
     long countByStatus(String status);
 
-    // --- Method for the search bar ---
-    @Query("SELECT b FROM Booking b WHERE " +
-            "LOWER(b.user.name) LIKE CONCAT('%', :searchTerm, '%') OR " +
-            "LOWER(b.room.roomNumber) LIKE CONCAT('%', :searchTerm, '%') OR " +
-            "CAST(b.id AS string) LIKE CONCAT('%', :searchTerm, '%')")
-    List<Booking> searchBookings(@Param("searchTerm") String searchTerm);
+    // Rows of (status, count, sum of totalPrice) for reconciling the in-memory status counters
+    @Query("SELECT b.status, COUNT(b), COALESCE(SUM(b.totalPrice), 0) FROM Booking b GROUP BY b.status")
+    List<Object[]> countAndSumByStatus();
+
+    List<Booking> findTop10ByOrderByIdDesc();
+
+    // --- Rows (id, userId, name, email, roomNumber) for building the search bar's index ---
+    @Query("SELECT b.id, u.id, u.name, u.email, r.roomNumber FROM Booking b JOIN b.user u LEFT JOIN b.room r")
+    List<Object[]> findSearchRows();
 
     @Query("SELECT r FROM Room r WHERE r.isAvailable = true AND r.id NOT IN (" +
             "SELECT b.room.id FROM Booking b WHERE b.status NOT IN ('CANCELLED', 'CHECKED_OUT') AND " +
             "((b.checkInDate < :checkOutDate) AND (b.checkOutDate > :checkInDate)))")
     List<Room> findAvailableRoomsForDateRange(@Param("checkInDate") LocalDate checkInDate, @Param("checkOutDate") LocalDate checkOutDate);
-}
\ No newline at end of file
+
+    /**
+     * Lightweight rows (id, roomId, roomType, checkIn, checkOut) for every booking
+     * that still holds a room or a room type. Used to build the in-memory availability index.
+     */
+    @Query("SELECT b.id, r.id, b.roomType, b.checkInDate, b.checkOutDate FROM Booking b LEFT JOIN b.room r " +
+            "WHERE (r IS NOT NULL OR b.roomType IS NOT NULL) AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT')")
+    List<Object[]> findActiveStays();
+
+    // --- Daily rollups: rows of (checkInDate, bookings, revenue) per arrival day between two dates (inclusive) ---
+    @Query("SELECT b.checkInDate, COUNT(b), COALESCE(SUM(CASE WHEN b.status IN ('CONFIRMED', 'CHECKED_IN', 'CHECKED_OUT') " +
+            "THEN b.totalPrice ELSE 0 END), 0) FROM Booking b " +
+            "WHERE b.checkInDate BETWEEN :from AND :to GROUP BY b.checkInDate")
+    List<Object[]> sumArrivalsByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // --- Daily rollups: (checkIn, checkOut) of every stay holding a room on a night between two dates ---
+    @Query("SELECT b.checkInDate, b.checkOutDate FROM Booking b " +
+            "WHERE b.status IN ('CONFIRMED', 'CHECKED_IN', 'CHECKED_OUT') " +
+            "AND b.checkInDate <= :to AND b.checkOutDate > :from")
+    List<Object[]> findStayDatesOverlapping(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // --- Occupancy report: the same stays, limited to one room type (assigned room's type, else the booked type) ---
+    @Query("SELECT b.checkInDate, b.checkOutDate FROM Booking b LEFT JOIN b.room r " +
+            "WHERE b.status IN ('CONFIRMED', 'CHECKED_IN', 'CHECKED_OUT') " +
+            "AND b.checkInDate <= :to AND b.checkOutDate > :from " +
+            "AND UPPER(TRIM(COALESCE(r.type, b.roomType))) = :roomType")
+    List<Object[]> findStayDatesOverlappingByType(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                  @Param("roomType") String roomType);
+
+    // --- Customer report: top spenders as (name, email, spent, bookings) over bookings overlapping two dates ---
+    // Spend counts confirmed, checked-in and checked-out bookings; the booking count includes every status
+    @Query("SELECT u.name, u.email, " +
+            "SUM(CASE WHEN b.status IN ('CONFIRMED', 'CHECKED_IN', 'CHECKED_OUT') THEN b.totalPrice ELSE 0.0 END), " +
+            "COUNT(b) FROM Booking b JOIN b.user u " +
+            "WHERE b.checkInDate <= :to AND b.checkOutDate >= :from " +
+            "GROUP BY u.id, u.name, u.email " +
+            "HAVING SUM(CASE WHEN b.status IN ('CONFIRMED', 'CHECKED_IN', 'CHECKED_OUT') THEN 1 ELSE 0 END) > 0 " +
+            "ORDER BY SUM(CASE WHEN b.status IN ('CONFIRMED', 'CHECKED_IN', 'CHECKED_OUT') THEN b.totalPrice ELSE 0.0 END) DESC, u.id")
+    List<Object[]> findTopCustomersOverlapping(@Param("from") LocalDate from, @Param("to") LocalDate to, Limit limit);
+
+    // --- Customer report: distinct guests with a booking overlapping two dates ---
+    @Query("SELECT COUNT(DISTINCT b.user.id) FROM Booking b WHERE b.checkInDate <= :to AND b.checkOutDate >= :from")
+    long countCustomersOverlapping(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // --- CSV export: (id, guest, email, room, roomType, status, checkIn, checkOut, totalPrice) by check-in date,
+    // read through a cursor; call within a read-only transaction and close the stream ---
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.id, u.name, u.email, r.roomNumber, b.roomType, b.status, b.checkInDate, b.checkOutDate, " +
+            "b.totalPrice FROM Booking b JOIN b.user u LEFT JOIN b.room r " +
+            "WHERE b.checkInDate BETWEEN :from AND :to ORDER BY b.id")
+    Stream<Object[]> streamExportRows(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // --- Daily rollups: one row of (earliest check-in, latest check-out) ---
+    @Query("SELECT MIN(b.checkInDate), MAX(b.checkOutDate) FROM Booking b")
+    List<Object[]> findStayDateBounds();
+}
@@ -0,0 +1,25 @@
+package com.hotelmanagement.system.repository;
+
+import com.hotelmanagement.system.model.DailyRevenue;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyRevenueRepository extends JpaRepository<DailyRevenue, Long> {
+
+    List<DailyRevenue> findByDayBetweenOrderByDay(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM DailyRevenue d WHERE d.day BETWEEN :from AND :to")
+    void deleteByDayBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM DailyRevenue d WHERE d.day < :from OR d.day > :to")
+    void deleteOutside(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
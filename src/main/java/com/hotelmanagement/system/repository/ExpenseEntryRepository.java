@@ -3,6 +3,8 @@ package com.hotelmanagement.system.repository;
 import com.hotelmanagement.system.model.ExpenseEntry;
 import com.hotelmanagement.system.model.Report;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -15,4 +17,11 @@ public interface ExpenseEntryRepository extends JpaRepository<ExpenseEntry, Long
     List<ExpenseEntry> findByEntryDateBetween(LocalDate start, LocalDate end);
     List<ExpenseEntry> findByCategory(String category);
     List<ExpenseEntry> findByReportIdOrderByEntryDateDesc(Long reportId);
+
+    // --- Report total verification: (reportId, sum of amounts) per report ---
+    @Query("SELECT e.report.id, SUM(e.amount) FROM ExpenseEntry e WHERE e.report IS NOT NULL GROUP BY e.report.id")
+    List<Object[]> sumAmountsByReport();
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM ExpenseEntry e WHERE e.report.id = :reportId")
+    double sumAmountsByReportId(@Param("reportId") Long reportId);
 }
\ No newline at end of file
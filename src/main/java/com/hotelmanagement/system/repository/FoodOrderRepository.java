@@ -1,12 +1,17 @@
 package com.hotelmanagement.system.repository;
 
 import com.hotelmanagement.system.model.FoodOrder;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface FoodOrderRepository extends JpaRepository<FoodOrder, Long> {
@@ -21,4 +26,22 @@ public interface FoodOrderRepository extends JpaRepository<FoodOrder, Long> {
 
     @Query("SELECT COUNT(f) FROM FoodOrder f WHERE f.status = :status")
     long countByStatus(@Param("status") String status);
+
+    // Daily rollups: (orderedAt, status, totalPrice) of orders placed in [from, to)
+    @Query("SELECT f.orderedAt, f.status, f.totalPrice FROM FoodOrder f WHERE f.orderedAt >= :from AND f.orderedAt < :to")
+    List<Object[]> findOrderValuesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // CSV export: (id, orderedAt, guest, room, status, totalPrice) placed in [from, to), read through a cursor;
+    // call within a read-only transaction and close the stream
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f.id, f.orderedAt, u.name, r.roomNumber, f.status, f.totalPrice FROM FoodOrder f " +
+            "JOIN f.user u JOIN f.room r WHERE f.orderedAt >= :from AND f.orderedAt < :to ORDER BY f.id")
+    Stream<Object[]> streamExportRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Daily rollups: one row of (earliest, latest) order time
+    @Query("SELECT MIN(f.orderedAt), MAX(f.orderedAt) FROM FoodOrder f")
+    List<Object[]> findOrderedAtBounds();
 }
@@ -22,14 +22,15 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
      * Updates a menu item using a single, efficient query.
      */
     @Transactional
-    @Modifying
+    @Modifying(clearAutomatically = true)
     @Query("UPDATE MenuItem m SET " +
             "m.name = :name, " +
             "m.description = :description, " +
             "m.price = :price, " +
             "m.isAvailable = :isAvailable, " +
             "m.imageUrl = :imageUrl, " +
-            "m.category = :category " +
+            "m.category = :category, " +
+            "m.normalizedName = :normalizedName " +
             "WHERE m.id = :id")
     void updateMenuItem(
             @Param("id") Long id,
@@ -38,7 +39,8 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
             @Param("price") Double price,
             @Param("isAvailable") boolean isAvailable,
             @Param("imageUrl") String imageUrl,
-            @Param("category") String category
+            @Param("category") String category,
+            @Param("normalizedName") String normalizedName
     );
 
     List<MenuItem> findByCategoryIgnoreCase(String category);
@@ -46,7 +48,14 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     @Query("SELECT DISTINCT m.category FROM MenuItem m ORDER BY m.category")
     List<String> findAllDistinctCategories();
 
-    @Query("SELECT m FROM MenuItem m WHERE LOWER(m.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "OR LOWER(m.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<MenuItem> searchByKeyword(@Param("keyword") String keyword);
+    /**
+     * ID, name and stored normalized name of every item, for the name registry
+     */
+    @Query("SELECT m.id, m.name, m.normalizedName FROM MenuItem m")
+    List<Object[]> findNameRows();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MenuItem m SET m.normalizedName = :normalizedName WHERE m.id = :id")
+    void updateNormalizedName(@Param("id") Long id, @Param("normalizedName") String normalizedName);
 }
\ No newline at end of file
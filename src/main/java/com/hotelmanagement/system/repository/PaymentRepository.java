@@ -1,9 +1,18 @@
 package com.hotelmanagement.system.repository;
 
 import com.hotelmanagement.system.model.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -12,4 +21,24 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     // ✅ ADD THIS METHOD for food orders
     Optional<Payment> findByFoodOrderId(Long foodOrderId);
+
+    // Daily rollups: (transactionDate, amount) of successful payments in [from, to)
+    @Query("SELECT p.transactionDate, p.amount FROM Payment p WHERE p.status = 'SUCCESSFUL' " +
+            "AND p.transactionDate >= :from AND p.transactionDate < :to")
+    List<Object[]> findSuccessfulAmountsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // CSV export: (id, transactionDate, amount, method, status, bookingId, foodOrderId) in [from, to), read through
+    // a cursor; call within a read-only transaction and close the stream. Card numbers are left out on purpose.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.transactionDate, p.amount, p.paymentMethod, p.status, b.id, f.id FROM Payment p " +
+            "LEFT JOIN p.booking b LEFT JOIN p.foodOrder f " +
+            "WHERE p.transactionDate >= :from AND p.transactionDate < :to ORDER BY p.id")
+    Stream<Object[]> streamExportRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Daily rollups: one row of (earliest, latest) transaction date
+    @Query("SELECT MIN(p.transactionDate), MAX(p.transactionDate) FROM Payment p")
+    List<Object[]> findTransactionDateBounds();
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package com.hotelmanagement.system.repository;
 
 import com.hotelmanagement.system.model.Report;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -16,4 +19,24 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
     List<Report> findByReportTypeAndStatus(String reportType, String status);
     List<Report> findByReportTypeOrderByGeneratedDateDesc(String reportType);
     List<Report> findAllByOrderByGeneratedDateDesc();
+
+    // --- Running totals: entry changes add their delta in the database, so concurrent changes never overwrite each other ---
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Report r SET r.totalAmount = ROUND(COALESCE(r.totalAmount, 0) + :delta, 2), r.lastModified = :now WHERE r.id = :id")
+    int addToTotal(@Param("id") Long id, @Param("delta") double delta, @Param("now") LocalDateTime now);
+
+    @Query("SELECT r.id, r.reportType, r.totalAmount FROM Report r")
+    List<Object[]> findTotals();
+
+    // Only applies if the total is still the one the check read
+    @Modifying
+    @Query("UPDATE Report r SET r.totalAmount = :expected WHERE r.id = :id AND COALESCE(r.totalAmount, 0) = :seen")
+    int correctTotal(@Param("id") Long id, @Param("expected") double expected, @Param("seen") double seen);
+
+    // Add the sum of a report's revenue entries to its total, computed in the database
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE reports SET total_amount = ROUND(COALESCE(total_amount, 0) + " +
+            "(SELECT COALESCE(SUM(e.amount), 0) FROM revenue_entries e WHERE e.report_id = :id), 2), " +
+            "last_modified = :now WHERE id = :id", nativeQuery = true)
+    int addRevenueEntriesToTotal(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -3,9 +3,13 @@ package com.hotelmanagement.system.repository;
 import com.hotelmanagement.system.model.RevenueEntry;
 import com.hotelmanagement.system.model.Report;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -15,4 +19,26 @@ public interface RevenueEntryRepository extends JpaRepository<RevenueEntry, Long
     List<RevenueEntry> findByEntryDateBetween(LocalDate start, LocalDate end);
     List<RevenueEntry> findBySource(String source);
     List<RevenueEntry> findByReportIdOrderByEntryDateDesc(Long reportId);
+
+    // --- Report total verification: (reportId, sum of amounts) per report ---
+    @Query("SELECT e.report.id, SUM(e.amount) FROM RevenueEntry e WHERE e.report IS NOT NULL GROUP BY e.report.id")
+    List<Object[]> sumAmountsByReport();
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM RevenueEntry e WHERE e.report.id = :reportId")
+    double sumAmountsByReportId(@Param("reportId") Long reportId);
+
+    // --- Auto-populated reports: one entry per day and source (BOOKING, FOOD_ORDER or OTHER)
+    //     from successful payments between two timestamps (inclusive), in a single INSERT...SELECT ---
+    @Modifying
+    @Query(value = "INSERT INTO revenue_entries (report_id, source, description, amount, entry_date, created_at, created_by) " +
+            "SELECT :reportId, t.source, CONCAT('Successful payments: ', COUNT(*)), ROUND(SUM(t.amount), 2), t.day, :now, :createdBy " +
+            "FROM (SELECT CASE WHEN p.booking_id IS NOT NULL THEN 'BOOKING' " +
+            "                  WHEN p.food_order_id IS NOT NULL THEN 'FOOD_ORDER' ELSE 'OTHER' END AS source, " +
+            "             DATE(p.transaction_date) AS day, p.amount AS amount " +
+            "      FROM payments p WHERE p.status = 'SUCCESSFUL' " +
+            "      AND p.transaction_date >= :from AND p.transaction_date <= :to) t " +
+            "GROUP BY t.day, t.source ORDER BY t.day, t.source", nativeQuery = true)
+    int insertFromPayments(@Param("reportId") Long reportId, @Param("from") LocalDateTime from,
+                           @Param("to") LocalDateTime to, @Param("now") LocalDateTime now,
+                           @Param("createdBy") String createdBy);
 }
\ No newline at end of file
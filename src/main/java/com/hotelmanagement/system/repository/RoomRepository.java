@@ -16,10 +16,10 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     // Find rooms by type
     List<Room> findByType(String type);
 
-    // Find rooms available for a specific date range
+    // Find rooms available for a specific date range (checkOut is exclusive, same as RoomAvailabilityIndex)
     @Query("SELECT r FROM Room r WHERE r.isAvailable = true AND NOT EXISTS (" +
             "SELECT b FROM Booking b WHERE b.room = r AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT') " +
-            "AND ((b.checkInDate <= :checkOutDate) AND (b.checkOutDate >= :checkInDate)))")
+            "AND ((b.checkInDate < :checkOutDate) AND (b.checkOutDate > :checkInDate)))")
     List<Room> findAvailableRoomsForDateRange(@Param("checkInDate") LocalDate checkInDate,
                                               @Param("checkOutDate") LocalDate checkOutDate);
 
@@ -1,12 +1,23 @@
 package com.hotelmanagement.system.repository;
 
 import com.hotelmanagement.system.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    long countByRole(String role);
+
+    // Prefix match so the name/email indexes can serve it (the column collation is case-insensitive)
+    @Query("SELECT u FROM User u WHERE u.name LIKE :prefix ESCAPE '!' OR u.email LIKE :prefix ESCAPE '!' " +
+            "ORDER BY u.name, u.id")
+    List<User> findByNameOrEmailPrefix(@Param("prefix") String prefix, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.hotelmanagement.system.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks that serialize the "check availability, then save" step of
+ * bookings touching the same room or room type.
+ *
+ * Keys (room IDs, room type names) hash onto a fixed set of stripes, so
+ * unrelated rooms never wait on each other. Stripes are always taken in
+ * ascending order, which keeps multi-key callers deadlock-free.
+ */
+@Service
+public class BookingLocks {
+
+    private static final int STRIPES = 256;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public BookingLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Lock every stripe covering the given keys. Null keys are ignored.
+     * Use with try-with-resources so the stripes are always released.
+     */
+    public Held lock(Object... keys) {
+        int[] indexes = Arrays.stream(keys)
+                .filter(key -> key != null)
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                acquired++;
+            }
+        } catch (RuntimeException e) {
+            unlock(indexes, acquired);
+            throw e;
+        }
+        return new Held(indexes);
+    }
+
+    private int stripeOf(Object key) {
+        Object normalized = key instanceof String ? ((String) key).trim().toUpperCase() : key;
+        int h = normalized.hashCode();
+        h ^= (h >>> 16);
+        return (h & 0x7fffffff) % STRIPES;
+    }
+
+    private void unlock(int[] indexes, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+
+    /**
+     * Stripes held by the current thread
+     */
+    public final class Held implements AutoCloseable {
+        private final int[] indexes;
+
+        private Held(int[] indexes) {
+            this.indexes = indexes;
+        }
+
+        @Override
+        public void close() {
+            unlock(indexes, indexes.length);
+        }
+    }
+}
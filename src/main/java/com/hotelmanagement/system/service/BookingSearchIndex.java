@@ -0,0 +1,520 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.model.Booking;
+import com.hotelmanagement.system.model.User;
+import com.hotelmanagement.system.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory index behind the reservations search bar, over guest name,
+ * guest email, room number and booking ID.
+ *
+ * Each guest and room points at its bookings. Exact and prefix matches come
+ * from sorted maps of names, name words, emails and room numbers. Substring
+ * matches come from trigram posting sets: the sets for the term's trigrams
+ * are intersected and the survivors confirmed with a substring check. When
+ * a term is too short or too common for that to narrow things down, the
+ * bookings are walked newest first until the page is full instead.
+ * An all-digit term is also looked up directly as a booking ID.
+ *
+ * Results are ranked by how well they matched, then newest first.
+ * Built once at startup and kept current by BookingService and UserService;
+ * changes become visible when their transaction commits.
+ */
+@Service
+public class BookingSearchIndex {
+
+    private static final int GRAM = 3;
+
+    // Above this many matching guests, a newest-first walk over bookings fills a page sooner than merging them
+    private static final int MAX_MERGE_SOURCES = 1_000;
+    // Above this many guests in the rarest trigram, a substring term is too common to narrow down
+    private static final int MAX_CANDIDATES = 10_000;
+
+    // Ranking weights; a booking takes the best score of anything that matched it
+    private static final int SCORE_BOOKING_ID = 1000;
+    private static final int SCORE_ROOM_EXACT = 400;
+    private static final int SCORE_NAME_EXACT = 300;
+    private static final int SCORE_ROOM_PREFIX = 250;
+    private static final int SCORE_NAME_PREFIX = 200;
+    private static final int SCORE_WORD_PREFIX = 150;
+    private static final int SCORE_EMAIL_PREFIX = 140;
+    private static final int SCORE_ROOM_CONTAINS = 120;
+    private static final int SCORE_CONTAINS = 100;
+
+    private final BookingRepository bookingRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, Doc> docs = new TreeMap<>();
+    private final Map<Long, Guest> guests = new HashMap<>();
+    private final NavigableMap<String, Set<Guest>> guestsByName = new TreeMap<>();
+    private final NavigableMap<String, Set<Guest>> guestsByWord = new TreeMap<>();
+    private final NavigableMap<String, Set<Guest>> guestsByEmail = new TreeMap<>();
+    private final Map<String, Set<Guest>> guestGrams = new HashMap<>();
+    private final NavigableMap<String, NavigableSet<Long>> bookingsByRoom = new TreeMap<>();
+
+    @Autowired
+    public BookingSearchIndex(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Load every booking's guest and room number from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Object[]> rows = bookingRepository.findSearchRows();
+
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            guests.clear();
+            guestsByName.clear();
+            guestsByWord.clear();
+            guestsByEmail.clear();
+            guestGrams.clear();
+            bookingsByRoom.clear();
+
+            for (Object[] row : rows) {
+                putBooking((Long) row[0], (Long) row[1], (String) row[2], (String) row[3], (String) row[4]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Booking search index built: " + rows.size() + " bookings, " + guests.size() + " guests");
+    }
+
+    /**
+     * IDs of the best-matching bookings, best first (ties go to the newest booking)
+     */
+    public List<Long> search(String term, int limit) {
+        String query = normalize(term);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Best score first; each tier lists the guests' and rooms' booking sets it matched
+            TreeMap<Integer, Tier> tiers = new TreeMap<>(Comparator.reverseOrder());
+
+            Long bookingId = parseId(query);
+            if (bookingId != null && docs.containsKey(bookingId)) {
+                tier(tiers, SCORE_BOOKING_ID).add(new TreeSet<>(Set.of(bookingId)));
+            }
+
+            NavigableSet<Long> roomExact = bookingsByRoom.get(query);
+            if (roomExact != null) {
+                tier(tiers, SCORE_ROOM_EXACT).add(roomExact);
+            }
+            Set<Guest> nameExact = guestsByName.get(query);
+            if (nameExact != null) {
+                tier(tiers, SCORE_NAME_EXACT).addGuests(List.of(nameExact), doc -> doc.guest.name.equals(query));
+            }
+            for (NavigableSet<Long> roomBookings : withPrefix(bookingsByRoom, query).values()) {
+                tier(tiers, SCORE_ROOM_PREFIX).add(roomBookings);
+            }
+            String wordStart = " " + query;
+            tier(tiers, SCORE_NAME_PREFIX).addGuests(withPrefix(guestsByName, query).values(),
+                    doc -> doc.guest.name.startsWith(query));
+            tier(tiers, SCORE_WORD_PREFIX).addGuests(withPrefix(guestsByWord, query).values(),
+                    doc -> doc.guest.name.contains(wordStart));
+            tier(tiers, SCORE_EMAIL_PREFIX).addGuests(withPrefix(guestsByEmail, query).values(),
+                    doc -> doc.guest.email.startsWith(query));
+            // Rooms are few, so a plain scan covers room-number substrings
+            for (Map.Entry<String, NavigableSet<Long>> room : bookingsByRoom.entrySet()) {
+                if (room.getKey().contains(query)) {
+                    tier(tiers, SCORE_ROOM_CONTAINS).add(room.getValue());
+                }
+            }
+            // One- and two-letter terms only match as prefixes
+            if (query.length() >= GRAM) {
+                Tier contains = tier(tiers, SCORE_CONTAINS);
+                Collection<Guest> candidates = containsCandidates(query);
+                if (candidates == null) {
+                    contains.walk = doc -> doc.guest.contains(query);
+                } else {
+                    for (Guest guest : candidates) {
+                        if (guest.contains(query)) {
+                            contains.add(guest.bookingIds);
+                        }
+                    }
+                }
+            }
+
+            List<Long> ids = new ArrayList<>();
+            Set<Long> seen = new HashSet<>();
+            for (Tier tier : tiers.values()) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                if (tier.walk != null) {
+                    walkNewestFirst(tier.walk, limit, ids, seen);
+                } else {
+                    mergeNewestFirst(tier.sources, limit, ids, seen);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Re-index a booking after it was created or changed
+     */
+    public void bookingChanged(Booking booking) {
+        if (booking.getId() == null || booking.getUser() == null) {
+            return;
+        }
+        Long bookingId = booking.getId();
+        User user = booking.getUser();
+        Long userId = user.getId();
+        String name = user.getName();
+        String email = user.getEmail();
+        String roomNumber = booking.getRoom() != null ? booking.getRoom().getRoomNumber() : null;
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                putBooking(bookingId, userId, name, email, roomNumber);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Re-index a guest's name and email after a profile change
+     */
+    public void userChanged(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        Long userId = user.getId();
+        String name = user.getName();
+        String email = user.getEmail();
+
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Guest guest = guests.get(userId);
+                if (guest != null) {
+                    updateGuestText(guest, name, email);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void putBooking(Long bookingId, Long userId, String name, String email, String roomNumber) {
+        Guest guest = guests.get(userId);
+        if (guest == null) {
+            guest = new Guest();
+            guests.put(userId, guest);
+        }
+        updateGuestText(guest, name, email);
+
+        String room = normalize(roomNumber);
+        Doc previous = docs.put(bookingId, new Doc(guest, room));
+
+        if (previous != null && previous.guest != guest) {
+            previous.guest.bookingIds.remove(bookingId);
+        }
+        if (previous != null && !previous.room.isEmpty() && !previous.room.equals(room)) {
+            NavigableSet<Long> roomBookings = bookingsByRoom.get(previous.room);
+            if (roomBookings != null) {
+                roomBookings.remove(bookingId);
+                if (roomBookings.isEmpty()) {
+                    bookingsByRoom.remove(previous.room);
+                }
+            }
+        }
+
+        guest.bookingIds.add(bookingId);
+        if (!room.isEmpty()) {
+            bookingsByRoom.computeIfAbsent(room, r -> new TreeSet<>()).add(bookingId);
+        }
+    }
+
+    private void updateGuestText(Guest guest, String name, String email) {
+        String newName = normalize(name);
+        String newEmail = normalize(email);
+        if (guest.indexed && newName.equals(guest.name) && newEmail.equals(guest.email)) {
+            return;
+        }
+        if (guest.indexed) {
+            removeKey(guestsByName, guest.name, guest);
+            for (String word : laterWords(guest.name)) {
+                removeKey(guestsByWord, word, guest);
+            }
+            removeKey(guestsByEmail, guest.email, guest);
+            for (String gram : guest.grams()) {
+                removeKey(guestGrams, gram, guest);
+            }
+        }
+
+        guest.name = newName;
+        guest.email = newEmail;
+        guest.indexed = true;
+
+        guestsByName.computeIfAbsent(newName, k -> new HashSet<>()).add(guest);
+        for (String word : laterWords(newName)) {
+            guestsByWord.computeIfAbsent(word, k -> new HashSet<>()).add(guest);
+        }
+        guestsByEmail.computeIfAbsent(newEmail, k -> new HashSet<>()).add(guest);
+        for (String gram : guest.grams()) {
+            guestGrams.computeIfAbsent(gram, k -> new HashSet<>()).add(guest);
+        }
+    }
+
+    private static void removeKey(Map<String, Set<Guest>> map, String key, Guest guest) {
+        Set<Guest> set = map.get(key);
+        if (set != null) {
+            set.remove(guest);
+            if (set.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Guests whose text contains every trigram of the query, smallest posting
+     * set first; null when the query is too common to narrow down
+     */
+    private Collection<Guest> containsCandidates(String query) {
+        List<Set<Guest>> sets = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<Guest> set = guestGrams.get(gram);
+            if (set == null) {
+                return List.of();
+            }
+            sets.add(set);
+        }
+        sets.sort(Comparator.comparingInt(Set::size));
+        if (sets.get(0).size() > MAX_CANDIDATES) {
+            return null;
+        }
+
+        List<Guest> result = new ArrayList<>();
+        for (Guest guest : sets.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < sets.size() && inAll; i++) {
+                inAll = sets.get(i).contains(guest);
+            }
+            if (inAll) {
+                result.add(guest);
+            }
+        }
+        return result;
+    }
+
+    private static <V> NavigableMap<String, V> withPrefix(NavigableMap<String, V> map, String prefix) {
+        return map.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static Tier tier(TreeMap<Integer, Tier> tiers, int score) {
+        return tiers.computeIfAbsent(score, k -> new Tier());
+    }
+
+    /**
+     * Merge the sources' booking IDs from newest to oldest, skipping ones
+     * already taken, until {@code limit} bookings are collected. Costs one
+     * heap entry per source rather than one per booking.
+     */
+    private static void mergeNewestFirst(List<NavigableSet<Long>> sources, int limit, List<Long> ids, Set<Long> seen) {
+        List<Cursor> cursors = new ArrayList<>(sources.size());
+        for (NavigableSet<Long> source : sources) {
+            cursors.add(new Cursor(source));
+        }
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(cursors);
+        while (!heap.isEmpty() && ids.size() < limit) {
+            Cursor cursor = heap.poll();
+            if (seen.add(cursor.head)) {
+                ids.add(cursor.head);
+            }
+            if (cursor.advance()) {
+                heap.offer(cursor);
+            }
+        }
+    }
+
+    /**
+     * Walk every booking from newest to oldest and take the ones that match.
+     * Used for tiers with so many matching guests that matches are dense,
+     * so the page fills after a short walk.
+     */
+    private void walkNewestFirst(Predicate<Doc> match, int limit, List<Long> ids, Set<Long> seen) {
+        for (Map.Entry<Long, Doc> entry : docs.descendingMap().entrySet()) {
+            if (ids.size() >= limit) {
+                return;
+            }
+            if (match.test(entry.getValue()) && seen.add(entry.getKey())) {
+                ids.add(entry.getKey());
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // Words after the first; the first word is already covered by the full-name prefix
+    private static List<String> laterWords(String name) {
+        String[] words = name.split("\\s+");
+        List<String> later = new ArrayList<>();
+        for (int i = 1; i < words.length; i++) {
+            if (!words[i].isEmpty()) {
+                later.add(words[i]);
+            }
+        }
+        return later;
+    }
+
+    private static Long parseId(String query) {
+        if (query.length() > 18) {
+            return null;
+        }
+        for (int i = 0; i < query.length(); i++) {
+            if (!Character.isDigit(query.charAt(i))) {
+                return null;
+            }
+        }
+        return Long.parseLong(query);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * The bookings matched at one score: booking sets to merge, or a
+     * predicate to walk with once too many guests matched
+     */
+    private static final class Tier {
+        private final List<NavigableSet<Long>> sources = new ArrayList<>();
+        private Predicate<Doc> walk;
+
+        private void add(NavigableSet<Long> bookingIds) {
+            if (walk == null && !bookingIds.isEmpty()) {
+                sources.add(bookingIds);
+            }
+        }
+
+        private void addGuests(Collection<Set<Guest>> groups, Predicate<Doc> fallback) {
+            int count = 0;
+            for (Set<Guest> group : groups) {
+                for (Guest guest : group) {
+                    if (++count > MAX_MERGE_SOURCES) {
+                        sources.clear();
+                        walk = fallback;
+                        return;
+                    }
+                    add(guest.bookingIds);
+                }
+            }
+        }
+    }
+
+    /**
+     * Position in one guest's or room's bookings, newest first
+     */
+    private static final class Cursor implements Comparable<Cursor> {
+        private final NavigableSet<Long> source;
+        // Created on the first advance; most cursors of a broad search never move
+        private Iterator<Long> ids;
+        private Long head;
+
+        private Cursor(NavigableSet<Long> source) {
+            this.source = source;
+            this.head = source.last();
+        }
+
+        private boolean advance() {
+            if (ids == null) {
+                ids = source.headSet(head, false).descendingIterator();
+            }
+            head = ids.hasNext() ? ids.next() : null;
+            return head != null;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return Long.compare(other.head, head);
+        }
+    }
+
+    /**
+     * One booking's guest and lower-case room number ("" when unassigned)
+     */
+    private static final class Doc {
+        private final Guest guest;
+        private final String room;
+
+        private Doc(Guest guest, String room) {
+            this.guest = guest;
+            this.room = room;
+        }
+    }
+
+    /**
+     * A guest's lower-case name and email and the bookings they made
+     */
+    private static final class Guest {
+        private String name = "";
+        private String email = "";
+        private boolean indexed;
+        private final NavigableSet<Long> bookingIds = new TreeSet<>();
+
+        private boolean contains(String query) {
+            return name.contains(query) || email.contains(query);
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = BookingSearchIndex.grams(name);
+            grams.addAll(BookingSearchIndex.grams(email));
+            return grams;
+        }
+    }
+}
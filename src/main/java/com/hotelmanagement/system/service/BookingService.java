@@ -1,16 +1,25 @@
 package com.hotelmanagement.system.service;
 
+import com.hotelmanagement.system.model.AvailabilityWindow;
 import com.hotelmanagement.system.model.Booking;
+import com.hotelmanagement.system.model.BookingPage;
+import com.hotelmanagement.system.model.BookingStatus;
+import com.hotelmanagement.system.model.BookingSummary;
 import com.hotelmanagement.system.model.Room;
 import com.hotelmanagement.system.model.User;
 import com.hotelmanagement.system.repository.BookingRepository;
 import com.hotelmanagement.system.repository.RoomRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,21 +28,36 @@ import java.util.stream.Collectors;
 @Service
 public class BookingService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int SEARCH_LIMIT = 100;
+
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
     private final EmailService emailService;
     private final RefundService refundService;
     private final UserService userService;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final BookingLocks bookingLocks;
+    private final BookingStatusCounters statusCounters;
+    private final BookingSearchIndex searchIndex;
+    private final DailyRollupService dailyRollups;
 
     @Autowired
     public BookingService(BookingRepository bookingRepository, RoomRepository roomRepository,
                           EmailService emailService, RefundService refundService,
-                          UserService userService) {
+                          UserService userService, RoomAvailabilityIndex availabilityIndex,
+                          BookingLocks bookingLocks, BookingStatusCounters statusCounters,
+                          BookingSearchIndex searchIndex, DailyRollupService dailyRollups) {
         this.bookingRepository = bookingRepository;
         this.roomRepository = roomRepository;
         this.emailService = emailService;
         this.refundService = refundService;
         this.userService = userService;
+        this.availabilityIndex = availabilityIndex;
+        this.bookingLocks = bookingLocks;
+        this.statusCounters = statusCounters;
+        this.searchIndex = searchIndex;
+        this.dailyRollups = dailyRollups;
     }
 
     /**
@@ -51,10 +75,80 @@ public class BookingService {
             throw new IllegalArgumentException("Check-out must be after check-in.");
         }
 
-        List<Room> availableRooms = roomRepository.findAvailableRoomsForDateRange(checkIn, checkOut);
+        return availabilityIndex.findAvailableRooms(checkIn, checkOut, roomType);
+    }
+
+    /**
+     * Check whether at least one room of the given type is free for every night
+     */
+    public boolean isRoomTypeAvailable(LocalDate checkIn, LocalDate checkOut, String roomType) {
+        return getRemainingRooms(checkIn, checkOut, roomType) > 0;
+    }
+
+    /**
+     * Number of rooms of the given type still bookable for the whole stay
+     */
+    public int getRemainingRooms(LocalDate checkIn, LocalDate checkOut, String roomType) {
+        if (checkIn.isAfter(checkOut)) {
+            throw new IllegalArgumentException("Check-out must be after check-in.");
+        }
+        return availabilityIndex.remainingRooms(roomType, checkIn, checkOut);
+    }
+
+    /**
+     * Remaining inventory for every room type over the date range
+     */
+    public Map<String, Integer> getRemainingRoomsByType(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn.isAfter(checkOut)) {
+            throw new IllegalArgumentException("Check-out must be after check-in.");
+        }
+        return availabilityIndex.remainingRoomsByType(checkIn, checkOut);
+    }
+
+    /**
+     * Version of the availability data; changes on any booking or room change
+     */
+    public long getAvailabilityVersion() {
+        return availabilityIndex.getVersion();
+    }
+
+    /**
+     * Remaining rooms per type for every night of the month, served from the
+     * in-memory nightly counters; nights before today are null (unknown)
+     */
+    public Map<String, Object> getAvailabilityHeatmap(YearMonth month) {
+        Map<String, Object> heatmap = new HashMap<>();
+        heatmap.put("month", month.toString());
+        heatmap.put("firstDay", month.atDay(1));
+        heatmap.put("days", month.lengthOfMonth());
+        heatmap.put("capacity", availabilityIndex.capacityByType());
+        heatmap.put("remaining", availabilityIndex.remainingPerNight(month.atDay(1), month.lengthOfMonth()));
+        return heatmap;
+    }
+
+    /**
+     * Flexible-date search: the best check-in dates within the next {@code days}
+     * days for a stay of {@code nights} nights, ranked by total price ("price")
+     * or by check-in date ("date")
+     */
+    public List<AvailabilityWindow> findFlexibleDates(String roomType, int nights, LocalDate from,
+                                                      int days, String sortBy, int limit) {
+        if (nights < 1 || nights > 30) {
+            throw new IllegalArgumentException("Number of nights must be between 1 and 30.");
+        }
+        if (days < 1 || days > 366) {
+            throw new IllegalArgumentException("Search range must be between 1 and 366 days.");
+        }
+        LocalDate start = from.isBefore(LocalDate.now()) ? LocalDate.now() : from;
+
+        Comparator<AvailabilityWindow> order = Comparator.comparing(AvailabilityWindow::getCheckInDate);
+        if (!"date".equalsIgnoreCase(sortBy)) {
+            order = Comparator.comparingDouble(AvailabilityWindow::getTotalPrice).thenComparing(order);
+        }
 
-        return availableRooms.stream()
-                .filter(room -> room.getType().equalsIgnoreCase(roomType))
+        return availabilityIndex.findOpenWindows(roomType, start, start.plusDays(days), nights).stream()
+                .sorted(order)
+                .limit(Math.max(1, limit))
                 .collect(Collectors.toList());
     }
 
@@ -64,15 +158,18 @@ public class BookingService {
     @Transactional
     public Booking updateBookingStatus(Long bookingId, String newStatus) {
         Booking booking = getBookingById(bookingId);
+        String oldStatus = booking.getStatus();
+        BookingStatus target = validateStatusTransition(oldStatus, newStatus);
 
-        // Validate status transition
-        validateStatusTransition(booking.getStatus(), newStatus);
-
-        booking.setStatus(newStatus);
+        booking.setStatus(target.name());
         Booking updatedBooking = bookingRepository.save(booking);
+        availabilityIndex.bookingChanged(updatedBooking);
+        searchIndex.bookingChanged(updatedBooking);
+        dailyRollups.bookingChanged(updatedBooking);
+        statusCounters.recordChange(oldStatus, updatedBooking.getTotalPrice(), target.name(), updatedBooking.getTotalPrice());
 
         try {
-            if ("CONFIRMED".equalsIgnoreCase(newStatus)) {
+            if (target == BookingStatus.CONFIRMED) {
                 emailService.sendBookingConfirmedEmail(updatedBooking.getUser().getEmail(), updatedBooking);
             } else {
                 emailService.sendStatusUpdateEmail(updatedBooking.getUser().getEmail(), updatedBooking);
@@ -84,42 +181,53 @@ public class BookingService {
     }
 
     /**
-     * Validate status transitions
+     * Validate status transitions against the {@link BookingStatus} lifecycle
      */
-    private void validateStatusTransition(String currentStatus, String newStatus) {
-        // PENDING -> CONFIRMED (after payment)
-        // CONFIRMED -> CHECKED_IN
-        // CHECKED_IN -> CHECKED_OUT
-        // Any -> CANCELLED (with restrictions)
-
-        if ("CHECKED_OUT".equals(currentStatus)) {
-            throw new IllegalStateException("Cannot change status of a checked-out booking");
-        }
-
-        if ("CANCELLED".equals(currentStatus)) {
-            throw new IllegalStateException("Cannot change status of a cancelled booking");
+    private BookingStatus validateStatusTransition(String currentStatus, String newStatus) {
+        BookingStatus current = BookingStatus.from(currentStatus);
+        BookingStatus target = BookingStatus.from(newStatus);
+
+        if (!current.canTransitionTo(target)) {
+            if (current.isTerminal()) {
+                throw new IllegalStateException("Cannot change status of a "
+                        + current.name().toLowerCase().replace('_', '-') + " booking");
+            }
+            throw new IllegalStateException("Cannot change booking status from " + current + " to " + target);
         }
+        return target;
     }
 
+    /**
+     * Status card counts, read from the in-memory counters
+     */
     public Map<String, Long> getBookingStatistics() {
         Map<String, Long> stats = new HashMap<>();
-        stats.put("pendingCount", bookingRepository.countByStatus("PENDING"));
-        stats.put("confirmedCount", bookingRepository.countByStatus("CONFIRMED"));
-        stats.put("checkedInCount", bookingRepository.countByStatus("CHECKED_IN"));
-        stats.put("cancelledCount", bookingRepository.countByStatus("CANCELLED"));
+        stats.put("pendingCount", statusCounters.count(BookingStatus.PENDING));
+        stats.put("confirmedCount", statusCounters.count(BookingStatus.CONFIRMED));
+        stats.put("checkedInCount", statusCounters.count(BookingStatus.CHECKED_IN));
+        stats.put("cancelledCount", statusCounters.count(BookingStatus.CANCELLED));
         return stats;
     }
 
+    /**
+     * Ranked front-desk search over guest name, email, room number and booking ID
+     */
     public List<Booking> searchBookings(String searchTerm) {
-        return bookingRepository.searchBookings(searchTerm.toLowerCase());
+        List<Long> ids = searchIndex.search(searchTerm, SEARCH_LIMIT);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Booking> byId = bookingRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Booking::getId, b -> b));
+        return ids.stream()
+                .map(byId::get)
+                .filter(b -> b != null)
+                .collect(Collectors.toList());
     }
 
     public List<Room> getAvailableRoomsForReassignment(Booking booking) {
-        List<Room> availableRooms = roomRepository.findAvailableRoomsForDateRange(
-                booking.getCheckInDate(), booking.getCheckOutDate());
-        return availableRooms.stream()
-                .filter(room -> room.getType().equals(booking.getRoom().getType()))
-                .collect(Collectors.toList());
+        return availabilityIndex.findAvailableRooms(
+                booking.getCheckInDate(), booking.getCheckOutDate(), booking.getRoom().getType());
     }
 
     @Transactional
@@ -127,8 +235,20 @@ public class BookingService {
         Booking booking = getBookingById(bookingId);
         Room newRoom = roomRepository.findById(newRoomId)
                 .orElseThrow(() -> new RuntimeException("New room not found."));
-        booking.setRoom(newRoom);
-        return bookingRepository.save(booking);
+
+        try (BookingLocks.Held ignored = bookingLocks.lock(newRoomId, newRoom.getType())) {
+            boolean sameRoom = booking.getRoom() != null && newRoomId.equals(booking.getRoom().getId());
+            if (!sameRoom && !availabilityIndex.isRoomAvailable(
+                    newRoomId, booking.getCheckInDate(), booking.getCheckOutDate(), bookingId)) {
+                throw new RuntimeException("Room " + newRoom.getRoomNumber() + " is not available for this booking's dates.");
+            }
+
+            booking.setRoom(newRoom);
+            Booking updatedBooking = bookingRepository.save(booking);
+            availabilityIndex.bookingChanged(updatedBooking);
+            searchIndex.bookingChanged(updatedBooking);
+            return updatedBooking;
+        }
     }
 
     @Transactional
@@ -143,12 +263,50 @@ public class BookingService {
             throw new RuntimeException("Only PENDING bookings can have their dates changed.");
         }
 
-        booking.setCheckInDate(newCheckIn);
-        booking.setCheckOutDate(newCheckOut);
-        long numberOfNights = ChronoUnit.DAYS.between(newCheckIn, newCheckOut);
-        booking.setTotalPrice(booking.getRoom().getPrice() * numberOfNights);
+        Long roomId = booking.getRoom().getId();
+        try (BookingLocks.Held ignored = bookingLocks.lock(roomId, booking.getRoom().getType())) {
+            if (!availabilityIndex.isRoomAvailable(roomId, newCheckIn, newCheckOut, bookingId)) {
+                throw new RuntimeException("The assigned room is not available for the new dates.");
+            }
+            if (!typeHasRoomForAddedNights(booking.getRoom().getType(), booking.getCheckInDate(),
+                    booking.getCheckOutDate(), newCheckIn, newCheckOut)) {
+                throw new RuntimeException("No " + booking.getRoom().getType() + " rooms are left for the new dates.");
+            }
+
+            double oldPrice = booking.getTotalPrice();
+            dailyRollups.stayChanged(booking.getCheckInDate(), booking.getCheckOutDate());
+            booking.setCheckInDate(newCheckIn);
+            booking.setCheckOutDate(newCheckOut);
+            long numberOfNights = ChronoUnit.DAYS.between(newCheckIn, newCheckOut);
+            booking.setTotalPrice(booking.getRoom().getPrice() * numberOfNights);
+
+            Booking updatedBooking = bookingRepository.save(booking);
+            availabilityIndex.bookingChanged(updatedBooking);
+            searchIndex.bookingChanged(updatedBooking);
+            dailyRollups.bookingChanged(updatedBooking);
+            statusCounters.recordChange(updatedBooking.getStatus(), oldPrice,
+                    updatedBooking.getStatus(), updatedBooking.getTotalPrice());
+            return updatedBooking;
+        }
+    }
 
-        return bookingRepository.save(booking);
+    /**
+     * Whether the type has inventory left on the nights a move from
+     * [oldCheckIn, oldCheckOut) to [newCheckIn, newCheckOut) adds. The nights
+     * the booking already holds count against the type, so only the added
+     * ones are checked.
+     */
+    private boolean typeHasRoomForAddedNights(String roomType, LocalDate oldCheckIn, LocalDate oldCheckOut,
+                                              LocalDate newCheckIn, LocalDate newCheckOut) {
+        if (!newCheckOut.isAfter(oldCheckIn) || !newCheckIn.isBefore(oldCheckOut)) {
+            return availabilityIndex.remainingRooms(roomType, newCheckIn, newCheckOut) > 0;
+        }
+        if (newCheckIn.isBefore(oldCheckIn)
+                && availabilityIndex.remainingRooms(roomType, newCheckIn, oldCheckIn) <= 0) {
+            return false;
+        }
+        return !newCheckOut.isAfter(oldCheckOut)
+                || availabilityIndex.remainingRooms(roomType, oldCheckOut, newCheckOut) > 0;
     }
 
     @Transactional
@@ -156,24 +314,27 @@ public class BookingService {
         Booking booking = getBookingById(bookingId);
 
         // Validate current status
-        if ("CANCELLED".equals(booking.getStatus())) {
+        BookingStatus current = BookingStatus.from(booking.getStatus());
+        if (current == BookingStatus.CANCELLED) {
             throw new RuntimeException("Booking is already cancelled.");
         }
 
-        if ("CHECKED_IN".equals(booking.getStatus())) {
-            throw new RuntimeException("Cannot cancel a booking that is already checked in.");
-        }
-
-        if ("CHECKED_OUT".equals(booking.getStatus())) {
-            throw new RuntimeException("Cannot cancel a booking that is already checked out.");
+        if (!current.canTransitionTo(BookingStatus.CANCELLED)) {
+            throw new RuntimeException("Cannot cancel a booking that is already "
+                    + current.name().toLowerCase().replace('_', ' ') + ".");
         }
 
         // CRITICAL FIX: Store original status BEFORE changing it
         String originalStatus = booking.getStatus();
 
         // Update booking status to CANCELLED
-        booking.setStatus("CANCELLED");
+        booking.setStatus(BookingStatus.CANCELLED.name());
         bookingRepository.save(booking);
+        availabilityIndex.bookingChanged(booking);
+        searchIndex.bookingChanged(booking);
+        dailyRollups.bookingChanged(booking);
+        statusCounters.recordChange(originalStatus, booking.getTotalPrice(),
+                booking.getStatus(), booking.getTotalPrice());
 
         // CRITICAL FIX: Check the ORIGINAL status for refund eligibility
         // Only initiate refund if booking was confirmed (i.e., payment was made)
@@ -206,27 +367,35 @@ public class BookingService {
             throw new IllegalArgumentException("Check-out date must be after check-in date.");
         }
 
-        // Validate room is available for the selected dates
-        List<Room> availableRooms = roomRepository.findAvailableRoomsForDateRange(checkInDate, checkOutDate);
-        boolean isRoomAvailable = availableRooms.stream().anyMatch(r -> r.getId().equals(roomId));
+        Booking savedBooking;
+        // Check and claim under the room's lock so two requests can't both win the same nights
+        try (BookingLocks.Held ignored = bookingLocks.lock(roomId, room.getType())) {
+            if (!availabilityIndex.isRoomAvailable(roomId, checkInDate, checkOutDate)) {
+                throw new RuntimeException("Selected room is not available for the chosen dates.");
+            }
+            // Unassigned room-type bookings hold the type's nights without naming a room
+            if (availabilityIndex.remainingRooms(room.getType(), checkInDate, checkOutDate) <= 0) {
+                throw new RuntimeException("No " + room.getType() + " rooms are left for the chosen dates.");
+            }
 
-        if (!isRoomAvailable) {
-            throw new RuntimeException("Selected room is not available for the chosen dates.");
+            Booking booking = new Booking();
+            booking.setUser(user);
+            booking.setRoom(room);
+            booking.setCheckInDate(checkInDate);
+            booking.setCheckOutDate(checkOutDate);
+            booking.setStatus("PENDING");
+            booking.setSpecialRequests(specialRequests);
+
+            long numberOfNights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+            booking.setTotalPrice(room.getPrice() * numberOfNights);
+
+            savedBooking = bookingRepository.save(booking);
+            availabilityIndex.bookingChanged(savedBooking);
+            searchIndex.bookingChanged(savedBooking);
+            dailyRollups.bookingChanged(savedBooking);
+            statusCounters.recordChange(null, 0, savedBooking.getStatus(), savedBooking.getTotalPrice());
         }
 
-        Booking booking = new Booking();
-        booking.setUser(user);
-        booking.setRoom(room);
-        booking.setCheckInDate(checkInDate);
-        booking.setCheckOutDate(checkOutDate);
-        booking.setStatus("PENDING");
-        booking.setSpecialRequests(specialRequests);
-
-        long numberOfNights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
-        booking.setTotalPrice(room.getPrice() * numberOfNights);
-
-        Booking savedBooking = bookingRepository.save(booking);
-
         try {
             emailService.sendBookingConfirmationEmail(savedBooking.getUser().getEmail(), savedBooking);
         } catch (Exception e) {
@@ -245,6 +414,56 @@ public class BookingService {
         return bookingRepository.findAll();
     }
 
+    /**
+     * One page of the reservations list, newest first. Pass {@code beforeId} to
+     * page to older bookings or {@code afterId} to page back to newer ones;
+     * neither gives the first page.
+     */
+    public BookingPage getBookingsPage(String status, Long beforeId, Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Limit limit = Limit.of(pageSize + 1);
+
+        if (afterId != null) {
+            List<Booking> rows = new ArrayList<>(bookingRepository.findPageAfter(status, afterId, limit));
+            if (rows.isEmpty()) {
+                return getBookingsPage(status, null, null, pageSize);
+            }
+            boolean hasNewer = rows.size() > pageSize;
+            if (hasNewer) {
+                rows = new ArrayList<>(rows.subList(0, pageSize));
+            }
+            Collections.reverse(rows);
+            return new BookingPage(rows, hasNewer ? rows.get(0).getId() : null, rows.get(rows.size() - 1).getId());
+        }
+
+        List<Booking> rows = bookingRepository.findPageBefore(status, beforeId, limit);
+        if (rows.isEmpty() && beforeId != null) {
+            return getBookingsPage(status, null, null, pageSize);
+        }
+        boolean hasOlder = rows.size() > pageSize;
+        if (hasOlder) {
+            rows = rows.subList(0, pageSize);
+        }
+        return new BookingPage(rows,
+                beforeId != null ? rows.get(0).getId() : null,
+                hasOlder ? rows.get(rows.size() - 1).getId() : null);
+    }
+
+    /**
+     * Summaries of the bookings on site at any point between {@code from} and
+     * {@code to}, optionally limited to one status
+     */
+    public List<BookingSummary> getCalendarBookings(LocalDate from, LocalDate to, String status) {
+        return bookingRepository.findCalendarSummaries(from, to, status);
+    }
+
+    /**
+     * The ten most recently created bookings
+     */
+    public List<Booking> getRecentBookings() {
+        return bookingRepository.findTop10ByOrderByIdDesc();
+    }
+
     public List<Booking> getBookingsByStatus(String status) {
         return bookingRepository.findByStatus(status);
     }
@@ -253,7 +472,24 @@ public class BookingService {
         if (checkIn.isAfter(checkOut)) {
             throw new IllegalArgumentException("Check-out must be after check-in.");
         }
-        return roomRepository.findAvailableRoomsForDateRange(checkIn, checkOut);
+        return availabilityIndex.findAvailableRooms(checkIn, checkOut);
+    }
+
+    /**
+     * Create a booking for a room type without assigning a room. The inventory
+     * check and the insert happen under the type's lock so the last room of a
+     * type can only be sold once.
+     */
+    @Transactional
+    public Booking createRoomTypeBooking(Booking booking) {
+        String roomType = booking.getRoomType();
+        try (BookingLocks.Held ignored = bookingLocks.lock(roomType)) {
+            if (availabilityIndex.remainingRooms(roomType, booking.getCheckInDate(), booking.getCheckOutDate()) <= 0) {
+                throw new RuntimeException("Sorry, no " + roomType + " rooms are available for "
+                        + booking.getCheckInDate() + " to " + booking.getCheckOutDate() + ".");
+            }
+            return saveBooking(booking);
+        }
     }
 
     /**
@@ -261,6 +497,14 @@ public class BookingService {
      */
     @Transactional
     public Booking saveBooking(Booking booking) {
-        return bookingRepository.save(booking);
+        boolean isNew = booking.getId() == null;
+        Booking savedBooking = bookingRepository.save(booking);
+        availabilityIndex.bookingChanged(savedBooking);
+        searchIndex.bookingChanged(savedBooking);
+        dailyRollups.bookingChanged(savedBooking);
+        if (isNew) {
+            statusCounters.recordChange(null, 0, savedBooking.getStatus(), savedBooking.getTotalPrice());
+        }
+        return savedBooking;
     }
 }
\ No newline at end of file
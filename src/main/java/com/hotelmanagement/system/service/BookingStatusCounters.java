@@ -0,0 +1,165 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.model.BookingStatus;
+import com.hotelmanagement.system.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Live booking counts and booked value per status, so the status cards on
+ * the reservations, manager and finance pages come from memory.
+ *
+ * BookingService reports every creation and transition; changes are applied
+ * when the transaction commits. A GROUP BY query reconciles the counters at
+ * startup and periodically, which also corrects any drift.
+ *
+ * A transaction holds the read lock from just before it commits until its
+ * change is applied, and reconcile holds the write lock across its query and
+ * reset. So every change is either both in the query's snapshot and applied
+ * before the reset, or neither, and none is lost or counted twice.
+ */
+@Service
+public class BookingStatusCounters {
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<BookingStatus, LongAdder> counts = new EnumMap<>(BookingStatus.class);
+    private final Map<BookingStatus, DoubleAdder> values = new EnumMap<>(BookingStatus.class);
+    private final LongAdder total = new LongAdder();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public BookingStatusCounters(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+        for (BookingStatus status : BookingStatus.values()) {
+            counts.put(status, new LongAdder());
+            values.put(status, new DoubleAdder());
+        }
+    }
+
+    /**
+     * Record a booking moving from one status/price to another.
+     * Use a null oldStatus for a newly created booking.
+     */
+    public void recordChange(String oldStatus, double oldPrice, String newStatus, double newPrice) {
+        afterCommit(() -> {
+            if (oldStatus == null) {
+                total.increment();
+            } else {
+                adjust(oldStatus, -1, -oldPrice);
+            }
+            adjust(newStatus, 1, newPrice);
+        });
+    }
+
+    public long count(BookingStatus status) {
+        return counts.get(status).sum();
+    }
+
+    public double value(BookingStatus status) {
+        return values.get(status).sum();
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    /**
+     * Reset every counter from the database with one GROUP BY query
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.booking-counters.reconcile-ms:600000}",
+            initialDelayString = "${app.booking-counters.reconcile-ms:600000}")
+    public void reconcile() {
+        lock.writeLock().lock();
+        try {
+            reset(bookingRepository.countAndSumByStatus());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reset(List<Object[]> rows) {
+        Map<BookingStatus, Long> dbCounts = new HashMap<>();
+        Map<BookingStatus, Double> dbValues = new HashMap<>();
+        long dbTotal = 0;
+        for (Object[] row : rows) {
+            long count = ((Number) row[1]).longValue();
+            dbTotal += count;
+            if (row[0] == null) {
+                continue;
+            }
+            try {
+                BookingStatus status = BookingStatus.from((String) row[0]);
+                dbCounts.put(status, count);
+                dbValues.put(status, ((Number) row[2]).doubleValue());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Ignoring bookings with unknown status: " + row[0]);
+            }
+        }
+
+        for (BookingStatus status : BookingStatus.values()) {
+            long count = dbCounts.getOrDefault(status, 0L);
+            counts.get(status).add(count - counts.get(status).sum());
+            values.get(status).add(dbValues.getOrDefault(status, 0.0) - values.get(status).sum());
+        }
+        total.add(dbTotal - total.sum());
+    }
+
+    private void adjust(String status, long count, double value) {
+        try {
+            BookingStatus parsed = BookingStatus.from(status);
+            counts.get(parsed).add(count);
+            values.get(parsed).add(value);
+        } catch (IllegalArgumentException e) {
+            // Unknown statuses are only counted in the total
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.readLock().lock();
+            try {
+                action.run();
+            } finally {
+                lock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    locked = false;
+                    lock.readLock().unlock();
+                }
+            }
+        });
+    }
+}
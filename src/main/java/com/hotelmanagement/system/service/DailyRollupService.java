@@ -0,0 +1,342 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.model.Booking;
+import com.hotelmanagement.system.model.DailyFnb;
+import com.hotelmanagement.system.model.DailyOccupancy;
+import com.hotelmanagement.system.model.DailyRevenue;
+import com.hotelmanagement.system.model.FoodOrder;
+import com.hotelmanagement.system.model.Payment;
+import com.hotelmanagement.system.repository.BookingRepository;
+import com.hotelmanagement.system.repository.DailyFnbRepository;
+import com.hotelmanagement.system.repository.DailyOccupancyRepository;
+import com.hotelmanagement.system.repository.DailyRevenueRepository;
+import com.hotelmanagement.system.repository.FoodOrderRepository;
+import com.hotelmanagement.system.repository.PaymentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Maintains the daily_revenue, daily_occupancy and daily_fnb rollup tables
+ * that the reports read instead of scanning bookings, payments and orders.
+ *
+ * Writers report what they changed; the affected days are marked dirty when
+ * the transaction commits and recomputed from the source tables on the next
+ * flush, one transaction per run of consecutive days. A nightly repair
+ * rebuilds the whole history, which also fixes days changed by any write
+ * that bypassed the hooks.
+ */
+@Service
+public class DailyRollupService {
+
+    // Longest run of days recomputed in one transaction
+    private static final int CHUNK_DAYS = 366;
+
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final FoodOrderRepository foodOrderRepository;
+    private final DailyRevenueRepository dailyRevenueRepository;
+    private final DailyOccupancyRepository dailyOccupancyRepository;
+    private final DailyFnbRepository dailyFnbRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportResultCache reportCache;
+
+    private final NavigableSet<LocalDate> dirtyRevenue = new ConcurrentSkipListSet<>();
+    private final NavigableSet<LocalDate> dirtyOccupancy = new ConcurrentSkipListSet<>();
+    private final NavigableSet<LocalDate> dirtyFnb = new ConcurrentSkipListSet<>();
+
+    // Seeded from the clock so versions from before a restart are never reused
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    @Autowired
+    public DailyRollupService(BookingRepository bookingRepository, PaymentRepository paymentRepository,
+                              FoodOrderRepository foodOrderRepository,
+                              DailyRevenueRepository dailyRevenueRepository,
+                              DailyOccupancyRepository dailyOccupancyRepository,
+                              DailyFnbRepository dailyFnbRepository,
+                              PlatformTransactionManager transactionManager,
+                              ReportResultCache reportCache) {
+        this.bookingRepository = bookingRepository;
+        this.paymentRepository = paymentRepository;
+        this.foodOrderRepository = foodOrderRepository;
+        this.dailyRevenueRepository = dailyRevenueRepository;
+        this.dailyOccupancyRepository = dailyOccupancyRepository;
+        this.dailyFnbRepository = dailyFnbRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reportCache = reportCache;
+    }
+
+    /**
+     * Current rollup version; changes whenever any rollup rows are rewritten
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Record that a booking was created or changed
+     */
+    public void bookingChanged(Booking booking) {
+        stayChanged(booking.getCheckInDate(), booking.getCheckOutDate());
+    }
+
+    /**
+     * Record a change to a stay's days; call with the old dates when a booking is moved
+     */
+    public void stayChanged(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null) {
+            return;
+        }
+        afterCommit(() -> {
+            dirtyRevenue.add(checkIn);
+            dirtyOccupancy.add(checkIn);
+            if (checkOut != null) {
+                for (LocalDate night = checkIn.plusDays(1); night.isBefore(checkOut); night = night.plusDays(1)) {
+                    dirtyOccupancy.add(night);
+                }
+            }
+        });
+    }
+
+    /**
+     * Record that a food order was placed, changed status or was deleted
+     */
+    public void foodOrderChanged(FoodOrder order) {
+        if (order.getOrderedAt() != null) {
+            LocalDate day = order.getOrderedAt().toLocalDate();
+            afterCommit(() -> dirtyFnb.add(day));
+        }
+    }
+
+    /**
+     * Record that a payment was taken
+     */
+    public void paymentChanged(Payment payment) {
+        if (payment.getTransactionDate() != null) {
+            LocalDate day = payment.getTransactionDate().toLocalDate();
+            afterCommit(() -> dirtyRevenue.add(day));
+        }
+    }
+
+    /**
+     * Recompute every dirty day. Reports call this first so they never miss a committed write.
+     */
+    @Scheduled(fixedDelayString = "${app.rollups.flush-ms:5000}")
+    public synchronized void flush() {
+        drain(dirtyRevenue, this::refreshRevenue);
+        drain(dirtyOccupancy, this::refreshOccupancy);
+        drain(dirtyFnb, this::refreshFnb);
+    }
+
+    /**
+     * Rebuild all three tables from the full history of the source tables
+     */
+    @Scheduled(cron = "${app.rollups.repair-cron:0 30 3 * * *}")
+    public synchronized void repair() {
+        long started = System.currentTimeMillis();
+        LocalDate[] stays = bounds(bookingRepository.findStayDateBounds());
+        if (stays != null) {
+            // The last occupied night is the day before the latest check-out
+            stays[1] = stays[1].minusDays(1).isBefore(stays[0]) ? stays[0] : stays[1].minusDays(1);
+        }
+        LocalDate[] payments = bounds(paymentRepository.findTransactionDateBounds());
+        LocalDate[] orders = bounds(foodOrderRepository.findOrderedAtBounds());
+
+        rebuild(union(stays, payments), this::refreshRevenue,
+                (from, to) -> dailyRevenueRepository.deleteOutside(from, to), dailyRevenueRepository::deleteAllInBatch);
+        rebuild(stays, this::refreshOccupancy,
+                (from, to) -> dailyOccupancyRepository.deleteOutside(from, to), dailyOccupancyRepository::deleteAllInBatch);
+        rebuild(orders, this::refreshFnb,
+                (from, to) -> dailyFnbRepository.deleteOutside(from, to), dailyFnbRepository::deleteAllInBatch);
+        reportCache.clear();
+
+        System.out.println("Daily rollups rebuilt in " + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    /**
+     * Fill the rollup tables on first start, when they are still empty
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (dailyRevenueRepository.count() == 0 && dailyOccupancyRepository.count() == 0
+                && dailyFnbRepository.count() == 0) {
+            repair();
+        }
+    }
+
+    private void refreshRevenue(LocalDate from, LocalDate to) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<LocalDate, DailyRevenue> days = new TreeMap<>();
+            for (Object[] row : bookingRepository.sumArrivalsByDay(from, to)) {
+                DailyRevenue day = days.computeIfAbsent((LocalDate) row[0], DailyRevenue::new);
+                day.setBookings(((Number) row[1]).longValue());
+                day.setBookingRevenue(((Number) row[2]).doubleValue());
+            }
+            for (Object[] row : paymentRepository.findSuccessfulAmountsBetween(start(from), start(to.plusDays(1)))) {
+                DailyRevenue day = days.computeIfAbsent(((LocalDateTime) row[0]).toLocalDate(), DailyRevenue::new);
+                day.setPayments(day.getPayments() + 1);
+                day.setPaymentAmount(day.getPaymentAmount() + ((Number) row[1]).doubleValue());
+            }
+
+            dailyRevenueRepository.deleteByDayBetween(from, to);
+            dailyRevenueRepository.saveAll(days.values());
+        });
+        version.incrementAndGet();
+        reportCache.invalidate(from, to);
+    }
+
+    private void refreshOccupancy(LocalDate from, LocalDate to) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int[] occupied = occupiedPerNight(from, to, bookingRepository.findStayDatesOverlapping(from, to));
+            List<DailyOccupancy> days = new ArrayList<>();
+            for (int i = 0; i < occupied.length; i++) {
+                if (occupied[i] > 0) {
+                    days.add(new DailyOccupancy(from.plusDays(i), occupied[i]));
+                }
+            }
+
+            dailyOccupancyRepository.deleteByDayBetween(from, to);
+            dailyOccupancyRepository.saveAll(days);
+        });
+        version.incrementAndGet();
+        // A stay still counts towards customer reports on its check-out day
+        reportCache.invalidate(from, to.plusDays(1));
+    }
+
+    private void refreshFnb(LocalDate from, LocalDate to) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, DailyFnb> rows = new HashMap<>();
+            for (Object[] row : foodOrderRepository.findOrderValuesBetween(start(from), start(to.plusDays(1)))) {
+                LocalDate day = ((LocalDateTime) row[0]).toLocalDate();
+                String orderStatus = row[1] != null ? (String) row[1] : "UNKNOWN";
+                DailyFnb fnb = rows.computeIfAbsent(day + "|" + orderStatus, k -> new DailyFnb(day, orderStatus));
+                fnb.setOrders(fnb.getOrders() + 1);
+                fnb.setOrderValue(fnb.getOrderValue() + ((Number) row[2]).doubleValue());
+            }
+
+            dailyFnbRepository.deleteByDayBetween(from, to);
+            dailyFnbRepository.saveAll(rows.values());
+        });
+        version.incrementAndGet();
+        reportCache.invalidate(from, to);
+    }
+
+    /**
+     * Rooms occupied on each night from one date to another (inclusive), given
+     * (checkIn, checkOut) rows. One pass over the stays with a difference array:
+     * +1 on a stay's first night in range, -1 after its last, then a prefix sum.
+     */
+    static int[] occupiedPerNight(LocalDate from, LocalDate to, List<Object[]> stays) {
+        int length = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        int[] nights = new int[length + 1];
+        for (Object[] row : stays) {
+            int first = (int) Math.max(0, ChronoUnit.DAYS.between(from, (LocalDate) row[0]));
+            int end = (int) Math.min(length, ChronoUnit.DAYS.between(from, (LocalDate) row[1]));
+            if (first < end) {
+                nights[first]++;
+                nights[end]--;
+            }
+        }
+        for (int i = 1; i < length; i++) {
+            nights[i] += nights[i - 1];
+        }
+        return Arrays.copyOf(nights, length);
+    }
+
+    /**
+     * Empty a dirty set and refresh it as runs of consecutive days; failed runs stay dirty
+     */
+    private static void drain(NavigableSet<LocalDate> dirty, BiConsumer<LocalDate, LocalDate> refresh) {
+        LocalDate from;
+        while ((from = dirty.pollFirst()) != null) {
+            LocalDate to = from;
+            while (ChronoUnit.DAYS.between(from, to) < CHUNK_DAYS - 1 && dirty.remove(to.plusDays(1))) {
+                to = to.plusDays(1);
+            }
+            try {
+                refresh.accept(from, to);
+            } catch (Exception e) {
+                System.err.println("Failed to refresh daily rollups for " + from + " to " + to + ": " + e.getMessage());
+                for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                    dirty.add(day);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Recompute a whole range chunk by chunk, then drop rows outside it
+     */
+    private void rebuild(LocalDate[] range, BiConsumer<LocalDate, LocalDate> refresh,
+                         BiConsumer<LocalDate, LocalDate> deleteOutside, Runnable deleteAll) {
+        if (range == null) {
+            transactionTemplate.executeWithoutResult(status -> deleteAll.run());
+            version.incrementAndGet();
+            return;
+        }
+        for (LocalDate from = range[0]; !from.isAfter(range[1]); from = from.plusDays(CHUNK_DAYS)) {
+            LocalDate to = from.plusDays(CHUNK_DAYS - 1);
+            refresh.accept(from, to.isAfter(range[1]) ? range[1] : to);
+        }
+        transactionTemplate.executeWithoutResult(status -> deleteOutside.accept(range[0], range[1]));
+        version.incrementAndGet();
+    }
+
+    private static LocalDate[] bounds(List<Object[]> rows) {
+        if (rows.isEmpty() || rows.get(0)[0] == null) {
+            return null;
+        }
+        return new LocalDate[]{toDate(rows.get(0)[0]), toDate(rows.get(0)[1])};
+    }
+
+    private static LocalDate[] union(LocalDate[] a, LocalDate[] b) {
+        if (a == null || b == null) {
+            return a == null ? b : a;
+        }
+        return new LocalDate[]{
+                a[0].isBefore(b[0]) ? a[0] : b[0],
+                a[1].isAfter(b[1]) ? a[1] : b[1]};
+    }
+
+    private static LocalDate toDate(Object value) {
+        return value instanceof LocalDateTime ? ((LocalDateTime) value).toLocalDate() : (LocalDate) value;
+    }
+
+    private static LocalDateTime start(LocalDate day) {
+        return day.atStartOfDay();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -3,6 +3,8 @@ package com.hotelmanagement.system.service;
 import com.hotelmanagement.system.model.Booking;
 import com.hotelmanagement.system.model.Refund;
 
+import java.util.List;
+
 public interface EmailService {
     void sendBookingConfirmationEmail(String to, Booking booking);
     void sendBookingConfirmedEmail(String to, Booking booking);
@@ -10,6 +12,7 @@ public interface EmailService {
     void sendCheckinConfirmationEmail(String to, Booking booking);
     void sendCheckoutConfirmationEmail(String to, Booking booking);
     void sendStatusUpdateEmail(String to, Booking booking);
+    void sendGroupBookingConfirmationEmail(String to, List<Booking> bookings);
 
     // Refund email methods
     void sendRefundProcessedEmail(String to, Refund refund);
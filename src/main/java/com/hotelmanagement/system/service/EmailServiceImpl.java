@@ -11,6 +11,8 @@ import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class EmailServiceImpl implements EmailService {
 
@@ -270,6 +272,59 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
+    @Async
+    @Override
+    public void sendGroupBookingConfirmationEmail(String to, List<Booking> bookings) {
+        try {
+            logger.info("📧 Attempting to send group booking confirmation email to: {} ({} rooms)", to, bookings.size());
+
+            if (emailSender == null) {
+                logger.error("❌ JavaMailSender is NULL!");
+                return;
+            }
+            if (bookings.isEmpty()) {
+                return;
+            }
+
+            Booking first = bookings.get(0);
+            StringBuilder roomLines = new StringBuilder();
+            double total = 0;
+            for (Booking booking : bookings) {
+                roomLines.append("  #").append(booking.getId())
+                        .append(" - Room ").append(booking.getRoom().getRoomNumber())
+                        .append(" (").append(booking.getRoom().getType()).append(")")
+                        .append(" - $").append(String.format("%.2f", booking.getTotalPrice()))
+                        .append("\n");
+                total += booking.getTotalPrice();
+            }
+
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(to);
+            message.setSubject("Group Booking Confirmation - " + bookings.size() + " Rooms");
+
+            message.setText("Dear " + first.getUser().getName() + ",\n\n" +
+                    "Thank you for your group booking at our hotel.\n\n" +
+                    "Check-in Date: " + first.getCheckInDate() + "\n" +
+                    "Check-out Date: " + first.getCheckOutDate() + "\n" +
+                    "Rooms Reserved: " + bookings.size() + "\n\n" +
+                    "Bookings:\n" + roomLines +
+                    "\nTotal Price: $" + String.format("%.2f", total) + "\n" +
+                    "Status: " + first.getStatus() + "\n\n" +
+                    "Please note that these bookings are pending payment. Once payment is received, " +
+                    "they will be confirmed.\n\n" +
+                    "If you have any questions, please contact us.\n\n" +
+                    "Best regards,\n" +
+                    "Hotel Management Team");
+
+            emailSender.send(message);
+            logger.info("✅ Group booking confirmation email sent successfully to: {}", to);
+        } catch (Exception e) {
+            logger.error("❌ Failed to send group booking confirmation email to: {}. Error: {}", to, e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
     @Async
     public void sendRoomAssignmentEmail(String to, Booking booking) {
         try {
@@ -35,6 +35,9 @@ public class FoodOrderService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private DailyRollupService dailyRollups;
+
     /**
      * Get all available menu items
      */
@@ -96,7 +99,9 @@ public class FoodOrderService {
         foodOrder.setStatus("PENDING");
         foodOrder.setOrderedAt(LocalDateTime.now());
 
-        return foodOrderRepository.save(foodOrder);
+        FoodOrder savedOrder = foodOrderRepository.save(foodOrder);
+        dailyRollups.foodOrderChanged(savedOrder);
+        return savedOrder;
     }
 
     /**
@@ -180,6 +185,7 @@ public class FoodOrderService {
         }
 
         order.setStatus(status.toUpperCase());
+        dailyRollups.foodOrderChanged(order);
         return foodOrderRepository.save(order);
     }
 
@@ -204,6 +210,7 @@ public class FoodOrderService {
         }
 
         order.setStatus("CANCELLED");
+        dailyRollups.foodOrderChanged(order);
         return foodOrderRepository.save(order);
     }
 
@@ -220,6 +227,7 @@ public class FoodOrderService {
                 .orElseThrow(() -> new RuntimeException("Food order not found with id: " + orderId));
 
         foodOrderRepository.delete(order);
+        dailyRollups.foodOrderChanged(order);
     }
 
     /**
@@ -0,0 +1,183 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.model.Booking;
+import com.hotelmanagement.system.model.GroupBookingRequest;
+import com.hotelmanagement.system.model.Room;
+import com.hotelmanagement.system.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reserves a block of rooms for one group (corporate stays, events) in a
+ * single transaction: availability is evaluated once, rooms of every
+ * requested type are picked together, all rows go in as one JDBC batch and
+ * the guest gets one consolidated email.
+ */
+@Service
+public class GroupBookingService {
+
+    private static final String INSERT_BOOKING =
+            "INSERT INTO bookings (user_id, room_id, room_type, check_in_date, check_out_date, " +
+            "total_price, status, special_requests) " +
+            "VALUES (:userId, :roomId, :roomType, :checkInDate, :checkOutDate, :totalPrice, :status, :specialRequests)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final BookingLocks bookingLocks;
+    private final UserService userService;
+    private final EmailService emailService;
+    private final BookingStatusCounters statusCounters;
+    private final BookingSearchIndex searchIndex;
+    private final DailyRollupService dailyRollups;
+
+    @Autowired
+    public GroupBookingService(NamedParameterJdbcTemplate jdbcTemplate, RoomAvailabilityIndex availabilityIndex,
+                               BookingLocks bookingLocks, UserService userService, EmailService emailService,
+                               BookingStatusCounters statusCounters, BookingSearchIndex searchIndex,
+                               DailyRollupService dailyRollups) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.availabilityIndex = availabilityIndex;
+        this.bookingLocks = bookingLocks;
+        this.userService = userService;
+        this.emailService = emailService;
+        this.statusCounters = statusCounters;
+        this.searchIndex = searchIndex;
+        this.dailyRollups = dailyRollups;
+    }
+
+    /**
+     * Book every requested room or none of them
+     */
+    @Transactional
+    public List<Booking> createGroupBooking(GroupBookingRequest request) {
+        LocalDate checkIn = request.getCheckInDate();
+        LocalDate checkOut = request.getCheckOutDate();
+        if (checkIn == null || checkOut == null) {
+            throw new IllegalArgumentException("Check-in and check-out dates are required.");
+        }
+        if (!checkIn.isBefore(checkOut)) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date.");
+        }
+        if (checkIn.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Check-in date cannot be in the past.");
+        }
+
+        Map<String, Integer> wanted = normalizeRoomCounts(request.getRoomsByType());
+        User user = userService.getUserById(request.getUserId());
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+
+        List<Booking> bookings = new ArrayList<>();
+        // Every room-level claim also takes its type's stripe, so locking the
+        // requested types is enough to keep the chosen rooms ours until the insert
+        try (BookingLocks.Held ignored = bookingLocks.lock(wanted.keySet().toArray())) {
+            Map<String, List<Room>> freeByType = new TreeMap<>();
+            for (Room room : availabilityIndex.findAvailableRooms(checkIn, checkOut)) {
+                String type = room.getType().trim().toUpperCase();
+                if (wanted.containsKey(type)) {
+                    freeByType.computeIfAbsent(type, t -> new ArrayList<>()).add(room);
+                }
+            }
+
+            List<String> shortages = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : wanted.entrySet()) {
+                String type = entry.getKey();
+                int free = Math.min(freeByType.getOrDefault(type, List.of()).size(),
+                        availabilityIndex.remainingRooms(type, checkIn, checkOut));
+                if (free < entry.getValue()) {
+                    shortages.add(type + " (requested " + entry.getValue() + ", available " + free + ")");
+                }
+            }
+            if (!shortages.isEmpty()) {
+                throw new RuntimeException("Not enough rooms for " + checkIn + " to " + checkOut + ": "
+                        + String.join(", ", shortages));
+            }
+
+            for (Map.Entry<String, Integer> entry : wanted.entrySet()) {
+                for (Room room : freeByType.get(entry.getKey()).subList(0, entry.getValue())) {
+                    Booking booking = new Booking();
+                    booking.setUser(user);
+                    booking.setRoom(room);
+                    booking.setRoomType(entry.getKey());
+                    booking.setCheckInDate(checkIn);
+                    booking.setCheckOutDate(checkOut);
+                    booking.setTotalPrice(room.getPrice() * nights);
+                    booking.setStatus("PENDING");
+                    booking.setSpecialRequests(request.getSpecialRequests());
+                    bookings.add(booking);
+                }
+            }
+
+            insertAll(bookings);
+            for (Booking booking : bookings) {
+                availabilityIndex.bookingChanged(booking);
+                searchIndex.bookingChanged(booking);
+                statusCounters.recordChange(null, 0, booking.getStatus(), booking.getTotalPrice());
+            }
+            dailyRollups.stayChanged(checkIn, checkOut);
+        }
+
+        try {
+            emailService.sendGroupBookingConfirmationEmail(user.getEmail(), bookings);
+        } catch (Exception e) {
+            System.err.println("Failed to send group booking confirmation email: " + e.getMessage());
+        }
+        return bookings;
+    }
+
+    private void insertAll(List<Booking> bookings) {
+        SqlParameterSource[] rows = new SqlParameterSource[bookings.size()];
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            rows[i] = new MapSqlParameterSource()
+                    .addValue("userId", booking.getUser().getId())
+                    .addValue("roomId", booking.getRoom().getId())
+                    .addValue("roomType", booking.getRoomType())
+                    .addValue("checkInDate", booking.getCheckInDate())
+                    .addValue("checkOutDate", booking.getCheckOutDate())
+                    .addValue("totalPrice", booking.getTotalPrice())
+                    .addValue("status", booking.getStatus())
+                    .addValue("specialRequests", booking.getSpecialRequests());
+        }
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_BOOKING, rows, keys, new String[]{"id"});
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        for (int i = 0; i < bookings.size(); i++) {
+            Object id = keyList.get(i).values().iterator().next();
+            bookings.get(i).setId(((Number) id).longValue());
+        }
+    }
+
+    private static Map<String, Integer> normalizeRoomCounts(Map<String, Integer> roomsByType) {
+        if (roomsByType == null || roomsByType.isEmpty()) {
+            throw new IllegalArgumentException("At least one room must be requested.");
+        }
+        Map<String, Integer> wanted = new TreeMap<>();
+        for (Map.Entry<String, Integer> entry : roomsByType.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null || entry.getValue() < 0) {
+                throw new IllegalArgumentException("Invalid room request: " + entry.getKey() + "=" + entry.getValue());
+            }
+            if (entry.getValue() > 0) {
+                wanted.merge(entry.getKey().trim().toUpperCase(), entry.getValue(), Integer::sum);
+            }
+        }
+        if (wanted.isEmpty()) {
+            throw new IllegalArgumentException("At least one room must be requested.");
+        }
+        return wanted;
+    }
+}
@@ -23,6 +23,8 @@ public class HousekeepingService {
     private RoomRepository roomRepository;
     @Autowired
     private Map<String, CleaningPriorityStrategy> priorityStrategies;
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
 
     @Transactional
     public CleaningTask createCleaningTask(Long roomId, String assignedTo, String notes, LocalDate scheduledFor, String priority) {
@@ -31,6 +33,7 @@ public class HousekeepingService {
 
         room.setAvailable(false);
         roomRepository.save(room);
+        availabilityIndex.roomChanged(room);
 
         CleaningTask task = new CleaningTask();
         task.setRoom(room);
@@ -61,6 +64,7 @@ public class HousekeepingService {
             Room room = task.getRoom();
             room.setAvailable(true);
             roomRepository.save(room);
+            availabilityIndex.roomChanged(room);
         }
 
         return cleaningTaskRepository.save(task);
@@ -75,6 +79,7 @@ public class HousekeepingService {
             Room room = task.getRoom();
             room.setAvailable(true);
             roomRepository.save(room);
+            availabilityIndex.roomChanged(room);
         }
         cleaningTaskRepository.deleteById(taskId);
     }
@@ -0,0 +1,160 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.model.MenuItem;
+import com.hotelmanagement.system.repository.MenuItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of the menu catalog: the available items, grouped by
+ * category, and the category list.
+ *
+ * Entries are tagged with the catalog version they were loaded at. Every
+ * menu write bumps the version when its transaction commits, and the next
+ * read reloads the catalog with two queries. The version also serves as the
+ * ETag for the menu page and JSON.
+ *
+ * The cache holds detached copies of the items, never the loaded entities,
+ * and every read hands out fresh copies, so a caller that changes an item
+ * can't affect the cache or other requests.
+ */
+@Service
+public class MenuCatalogCache {
+
+    private final MenuItemRepository menuItemRepository;
+
+    // Seeded from the clock so versions (and ETags) from before a restart are never reused
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    private volatile Catalog catalog;
+
+    @Autowired
+    public MenuCatalogCache(MenuItemRepository menuItemRepository) {
+        this.menuItemRepository = menuItemRepository;
+    }
+
+    /**
+     * Current catalog version; changes whenever any menu item changes
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * All available menu items
+     */
+    public List<MenuItem> availableItems() {
+        return copiesOf(current().available);
+    }
+
+    /**
+     * Available menu items in one category (case-insensitive)
+     */
+    public List<MenuItem> availableItems(String category) {
+        return copiesOf(current().availableByCategory.getOrDefault(key(category), List.of()));
+    }
+
+    /**
+     * Every category on the menu, sorted, including ones with no available items
+     */
+    public List<String> categories() {
+        return current().categories;
+    }
+
+    /**
+     * Mark the catalog stale once the current transaction commits
+     */
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+        });
+    }
+
+    private Catalog current() {
+        Catalog cached = catalog;
+        if (cached != null && cached.version == version.get()) {
+            return cached;
+        }
+        synchronized (this) {
+            cached = catalog;
+            long target = version.get();
+            if (cached == null || cached.version != target) {
+                cached = load(target);
+                catalog = cached;
+            }
+            return cached;
+        }
+    }
+
+    private Catalog load(long loadedVersion) {
+        List<MenuItem> available = new ArrayList<>();
+        for (MenuItem item : menuItemRepository.findByIsAvailable(true)) {
+            available.add(copyOf(item));
+        }
+        List<String> categories = menuItemRepository.findAllDistinctCategories();
+
+        Map<String, List<MenuItem>> byCategory = new HashMap<>();
+        for (MenuItem item : available) {
+            byCategory.computeIfAbsent(key(item.getCategory()), k -> new ArrayList<>()).add(item);
+        }
+        byCategory.replaceAll((category, items) -> Collections.unmodifiableList(items));
+
+        return new Catalog(loadedVersion, Collections.unmodifiableList(available), byCategory,
+                Collections.unmodifiableList(new ArrayList<>(categories)));
+    }
+
+    private static List<MenuItem> copiesOf(List<MenuItem> items) {
+        List<MenuItem> copies = new ArrayList<>(items.size());
+        for (MenuItem item : items) {
+            copies.add(copyOf(item));
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    private static MenuItem copyOf(MenuItem item) {
+        MenuItem copy = new MenuItem();
+        copy.setId(item.getId());
+        copy.setName(item.getName());
+        copy.setDescription(item.getDescription());
+        copy.setPrice(item.getPrice());
+        copy.setImageUrl(item.getImageUrl());
+        copy.setAvailable(item.isAvailable());
+        copy.setCategory(item.getCategory());
+        return copy;
+    }
+
+    private static String key(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Catalog {
+        final long version;
+        final List<MenuItem> available;
+        final Map<String, List<MenuItem>> availableByCategory;
+        final List<String> categories;
+
+        Catalog(long version, List<MenuItem> available, Map<String, List<MenuItem>> availableByCategory,
+                List<String> categories) {
+            this.version = version;
+            this.available = available;
+            this.availableByCategory = availableByCategory;
+            this.categories = categories;
+        }
+    }
+}
@@ -3,11 +3,16 @@ package com.hotelmanagement.system.service;
 import com.hotelmanagement.system.model.MenuItem;
 import com.hotelmanagement.system.repository.MenuItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,11 +21,20 @@ public class MenuItemService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private MenuSearchIndex menuSearchIndex;
+
+    @Autowired
+    private MenuCatalogCache menuCatalogCache;
+
+    @Autowired
+    private MenuNameRegistry menuNameRegistry;
+
     /**
      * Find all available menu items
      */
     public List<MenuItem> findAvailableItems() {
-        return menuItemRepository.findByIsAvailable(true);
+        return menuCatalogCache.availableItems();
     }
 
     /**
@@ -30,7 +44,7 @@ public class MenuItemService {
         if (category == null || category.isEmpty() || category.equalsIgnoreCase("all")) {
             return findAvailableItems();
         }
-        return menuItemRepository.findByIsAvailableAndCategoryIgnoreCase(true, category);
+        return menuCatalogCache.availableItems(category);
     }
 
     /**
@@ -41,9 +55,7 @@ public class MenuItemService {
             throw new IllegalArgumentException("Category cannot be empty");
         }
 
-        return menuItemRepository.findAll().stream()
-                .filter(item -> item.getCategory().equalsIgnoreCase(category))
-                .collect(Collectors.toList());
+        return menuItemRepository.findByCategoryIgnoreCase(category);
     }
 
     /**
@@ -74,11 +86,14 @@ public class MenuItemService {
      * Get all unique categories
      */
     public List<String> getAllCategories() {
-        return menuItemRepository.findAll().stream()
-                .map(MenuItem::getCategory)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        return menuCatalogCache.categories();
+    }
+
+    /**
+     * Current menu catalog version, for ETags; changes on every menu write
+     */
+    public long getCatalogVersion() {
+        return menuCatalogCache.getVersion();
     }
 
     /**
@@ -86,33 +101,51 @@ public class MenuItemService {
      */
     @Transactional
     public MenuItem createMenuItem(MenuItem menuItem) {
-        // Validation
-        if (menuItem.getName() == null || menuItem.getName().trim().isEmpty()) {
-            throw new IllegalArgumentException("Menu item name is required");
-        }
+        prepareNewItem(menuItem);
 
-        if (menuItem.getPrice() <= 0) {
-            throw new IllegalArgumentException("Price must be greater than zero");
-        }
+        // Check for duplicate names
+        menuNameRegistry.claimNew(menuItem);
 
-        // Set default category if none provided
-        if (menuItem.getCategory() == null || menuItem.getCategory().isEmpty()) {
-            menuItem.setCategory("Main Courses");
+        MenuItem saved = saveUnique(menuItem);
+        menuSearchIndex.itemChanged(saved);
+        menuCatalogCache.invalidate();
+        return saved;
+    }
+
+    /**
+     * Create several menu items at once. The whole batch is validated in one
+     * pass and either every item is saved or none is.
+     */
+    @Transactional
+    public List<MenuItem> createMenuItems(List<MenuItem> menuItems) {
+        if (menuItems == null || menuItems.isEmpty()) {
+            throw new IllegalArgumentException("At least one menu item is required");
         }
 
-        // Trim and validate name
-        menuItem.setName(menuItem.getName().trim());
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < menuItems.size(); i++) {
+            try {
+                prepareNewItem(menuItems.get(i));
+            } catch (IllegalArgumentException e) {
+                errors.add("Item " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
 
-        // Check for duplicate names
-        Optional<MenuItem> existingItem = menuItemRepository.findAll().stream()
-                .filter(item -> item.getName().equalsIgnoreCase(menuItem.getName()))
-                .findFirst();
+        // Check for duplicate names, within the batch and against the menu
+        menuNameRegistry.claimNew(menuItems);
 
-        if (existingItem.isPresent()) {
+        List<MenuItem> saved;
+        try {
+            saved = menuItemRepository.saveAll(menuItems);
+        } catch (DataIntegrityViolationException e) {
             throw new IllegalArgumentException("A menu item with this name already exists");
         }
-
-        return menuItemRepository.save(menuItem);
+        saved.forEach(menuSearchIndex::itemChanged);
+        menuCatalogCache.invalidate();
+        return saved;
     }
 
     /**
@@ -138,14 +171,8 @@ public class MenuItemService {
         }
 
         // Check for duplicate names (excluding current item)
-        Optional<MenuItem> existingItem = menuItemRepository.findAll().stream()
-                .filter(item -> !item.getId().equals(id))
-                .filter(item -> item.getName().equalsIgnoreCase(menuItemDetails.getName().trim()))
-                .findFirst();
-
-        if (existingItem.isPresent()) {
-            throw new IllegalArgumentException("A menu item with this name already exists");
-        }
+        String name = menuItemDetails.getName().trim();
+        menuNameRegistry.claimRename(id, menuItem.getName(), name);
 
         // Set default category if none is provided
         String category = menuItemDetails.getCategory();
@@ -154,19 +181,27 @@ public class MenuItemService {
         }
 
         // Update using repository method
-        menuItemRepository.updateMenuItem(
-                id,
-                menuItemDetails.getName().trim(),
-                menuItemDetails.getDescription(),
-                menuItemDetails.getPrice(),
-                menuItemDetails.isAvailable(),
-                menuItemDetails.getImageUrl(),
-                category
-        );
+        try {
+            menuItemRepository.updateMenuItem(
+                    id,
+                    name,
+                    menuItemDetails.getDescription(),
+                    menuItemDetails.getPrice(),
+                    menuItemDetails.isAvailable(),
+                    menuItemDetails.getImageUrl(),
+                    category,
+                    MenuItem.normalizeName(name)
+            );
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("A menu item with this name already exists");
+        }
 
         // Return the updated entity
-        return menuItemRepository.findById(id)
+        MenuItem updated = menuItemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Could not find menu item after update with id: " + id));
+        menuSearchIndex.itemChanged(updated);
+        menuCatalogCache.invalidate();
+        return updated;
     }
 
     /**
@@ -182,7 +217,10 @@ public class MenuItemService {
                 .orElseThrow(() -> new RuntimeException("Menu item not found with id: " + id));
 
         menuItem.setAvailable(!menuItem.isAvailable());
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        menuSearchIndex.itemChanged(saved);
+        menuCatalogCache.invalidate();
+        return saved;
     }
 
     /**
@@ -198,23 +236,65 @@ public class MenuItemService {
                 .orElseThrow(() -> new RuntimeException("Menu item not found with id: " + id));
 
         menuItemRepository.delete(menuItem);
+        menuNameRegistry.release(id, menuItem.getName());
+        menuSearchIndex.itemRemoved(id);
+        menuCatalogCache.invalidate();
+    }
+
+    // Validate a new item and fill in defaults
+    private void prepareNewItem(MenuItem menuItem) {
+        if (menuItem.getName() == null || menuItem.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Menu item name is required");
+        }
+
+        if (menuItem.getPrice() == null || menuItem.getPrice() <= 0) {
+            throw new IllegalArgumentException("Price must be greater than zero");
+        }
+
+        // Set default category if none provided
+        if (menuItem.getCategory() == null || menuItem.getCategory().isEmpty()) {
+            menuItem.setCategory("Main Courses");
+        }
+
+        // Trim and validate name
+        menuItem.setName(menuItem.getName().trim());
+    }
+
+    // The unique constraint on the normalized name is the last line of defence against duplicates
+    private MenuItem saveUnique(MenuItem menuItem) {
+        try {
+            return menuItemRepository.save(menuItem);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("A menu item with this name already exists");
+        }
     }
 
     /**
      * Search menu items by keyword in name or description
      */
     public List<MenuItem> searchMenuItems(String keyword) {
+        return searchMenuItems(keyword, null, false);
+    }
+
+    /**
+     * Search menu items through the in-memory index, best match first,
+     * optionally limited to one category and to available items
+     */
+    public List<MenuItem> searchMenuItems(String keyword, String category, boolean availableOnly) {
         if (keyword == null || keyword.trim().isEmpty()) {
             throw new IllegalArgumentException("Search keyword is required");
         }
 
-        String lowerKeyword = keyword.toLowerCase().trim();
+        List<Long> ids = menuSearchIndex.search(keyword, category, availableOnly);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
 
-        return menuItemRepository.findAll().stream()
-                .filter(item ->
-                        item.getName().toLowerCase().contains(lowerKeyword) ||
-                                (item.getDescription() != null && item.getDescription().toLowerCase().contains(lowerKeyword))
-                )
+        Map<Long, MenuItem> byId = menuItemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
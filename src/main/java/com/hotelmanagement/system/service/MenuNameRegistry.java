@@ -0,0 +1,167 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.model.MenuItem;
+import com.hotelmanagement.system.repository.MenuItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Which menu item owns each normalized name, so duplicate checks are a map
+ * lookup instead of a scan of the menu.
+ *
+ * A name is claimed atomically before the write that uses it. Concurrent
+ * edits racing for the same name therefore see exactly one winner. A claim is
+ * dropped again if its transaction rolls back, and a renamed or deleted item
+ * gives up its old name once the change commits. The unique constraint on
+ * menu_items.normalized_name backs this up at the database.
+ */
+@Service
+public class MenuNameRegistry {
+
+    private static final String DUPLICATE = "A menu item with this name already exists";
+
+    private final MenuItemRepository menuItemRepository;
+
+    // Normalized name -> owning item ID; new items hold a negative placeholder until they commit
+    private final Map<String, Long> owners = new ConcurrentHashMap<>();
+    private final AtomicLong placeholders = new AtomicLong();
+
+    @Autowired
+    public MenuNameRegistry(MenuItemRepository menuItemRepository) {
+        this.menuItemRepository = menuItemRepository;
+    }
+
+    /**
+     * Load every item's name, filling in normalized names missing from older rows
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Object[]> rows = menuItemRepository.findNameRows();
+
+        Map<String, Long> loaded = new HashMap<>();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            String key = MenuItem.normalizeName((String) row[1]);
+            Long existing = loaded.putIfAbsent(key, id);
+            if (existing != null) {
+                System.err.println("Menu items " + existing + " and " + id + " share the name '" + row[1] + "'");
+                continue;
+            }
+            if (!key.equals(row[2])) {
+                menuItemRepository.updateNormalizedName(id, key);
+            }
+        }
+
+        owners.clear();
+        owners.putAll(loaded);
+        System.out.println("Menu name registry built: " + owners.size() + " names");
+    }
+
+    /**
+     * Claim a new item's name, or throw if it is taken. The claim is released if
+     * the transaction rolls back, and bound to the item's ID once it commits.
+     */
+    public void claimNew(MenuItem item) {
+        String key = MenuItem.normalizeName(item.getName());
+        Long placeholder = -placeholders.incrementAndGet();
+        if (owners.putIfAbsent(key, placeholder) != null) {
+            throw new IllegalArgumentException(DUPLICATE);
+        }
+        afterCompletion(committed -> {
+            if (committed && item.getId() != null) {
+                owners.replace(key, placeholder, item.getId());
+            } else if (!committed) {
+                owners.remove(key, placeholder);
+            }
+        });
+    }
+
+    /**
+     * Claim every name in a batch of new items, or none of them. The whole batch
+     * is checked in one pass and every problem is reported together.
+     * Call within the transaction that saves the batch.
+     */
+    public void claimNew(List<MenuItem> items) {
+        List<String> errors = new ArrayList<>();
+        Map<String, Integer> seen = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            String name = items.get(i).getName();
+            String key = MenuItem.normalizeName(name);
+            Integer earlier = seen.putIfAbsent(key, i);
+            if (earlier != null) {
+                errors.add("Item " + (i + 1) + ": '" + name + "' repeats item " + (earlier + 1));
+            } else if (owners.containsKey(key)) {
+                errors.add("Item " + (i + 1) + ": '" + name + "' already exists");
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+
+        // Losing a race for one name throws, and the rollback releases the names already claimed
+        for (MenuItem item : items) {
+            claimNew(item);
+        }
+    }
+
+    /**
+     * Move an item to a new name, or throw if another item owns it. The old name
+     * is released when the transaction commits; the new one if it rolls back.
+     */
+    public void claimRename(Long itemId, String oldName, String newName) {
+        String oldKey = MenuItem.normalizeName(oldName);
+        String newKey = MenuItem.normalizeName(newName);
+        if (Objects.equals(oldKey, newKey)) {
+            return;
+        }
+        Long owner = owners.putIfAbsent(newKey, itemId);
+        if (owner != null && !owner.equals(itemId)) {
+            throw new IllegalArgumentException(DUPLICATE);
+        }
+        afterCompletion(committed -> {
+            if (committed) {
+                owners.remove(oldKey, itemId);
+            } else if (owner == null) {
+                owners.remove(newKey, itemId);
+            }
+        });
+    }
+
+    /**
+     * Give up a deleted item's name once the transaction commits
+     */
+    public void release(Long itemId, String name) {
+        String key = MenuItem.normalizeName(name);
+        afterCompletion(committed -> {
+            if (committed) {
+                owners.remove(key, itemId);
+            }
+        });
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,337 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.model.MenuItem;
+import com.hotelmanagement.system.repository.MenuItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index behind menu search, over item names and descriptions.
+ *
+ * Names and descriptions are split into lowercase, accent-free words, and
+ * each word points at the items that contain it. Every word of the query
+ * has to match an item, either exactly, as the start of a word, or within
+ * one typo (two for long words). Name matches outrank description matches
+ * and exact matches outrank prefixes and typos; ties are broken by name.
+ *
+ * Built once at startup and kept current by MenuItemService; changes become
+ * visible when their transaction commits.
+ */
+@Service
+public class MenuSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // Shortest query words that may match with one or two typos
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MIN_TWO_TYPO_LENGTH = 8;
+
+    // Ranking weights per query word; an item takes the best field that matched it
+    private static final int SCORE_NAME_EXACT = 100;
+    private static final int SCORE_NAME_PREFIX = 60;
+    private static final int SCORE_NAME_FUZZY = 40;
+    private static final int SCORE_DESC_EXACT = 30;
+    private static final int SCORE_DESC_PREFIX = 20;
+    private static final int SCORE_DESC_FUZZY = 10;
+    // Bonus when the whole query is the item's name
+    private static final int SCORE_FULL_NAME = 200;
+
+    private final MenuItemRepository menuItemRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> nameWords = new TreeMap<>();
+    private final NavigableMap<String, Set<Long>> descriptionWords = new TreeMap<>();
+
+    @Autowired
+    public MenuSearchIndex(MenuItemRepository menuItemRepository) {
+        this.menuItemRepository = menuItemRepository;
+    }
+
+    /**
+     * Load every menu item from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<MenuItem> items = menuItemRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            nameWords.clear();
+            descriptionWords.clear();
+            for (MenuItem item : items) {
+                put(Entry.of(item));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Menu search index built: " + items.size() + " items");
+    }
+
+    /**
+     * IDs of the items matching every word of the term, best first.
+     * A null or "all" category matches every category.
+     */
+    public List<Long> search(String term, String category, boolean availableOnly) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(tokenize(term)));
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        String categoryFilter = category == null || category.isBlank() || category.equalsIgnoreCase("all")
+                ? null : category.trim();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String word : words) {
+                Map<Long, Integer> wordScores = new HashMap<>();
+                collect(nameWords, word, SCORE_NAME_EXACT, SCORE_NAME_PREFIX, SCORE_NAME_FUZZY, wordScores);
+                collect(descriptionWords, word, SCORE_DESC_EXACT, SCORE_DESC_PREFIX, SCORE_DESC_FUZZY, wordScores);
+
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    scores.replaceAll((id, score) -> score + wordScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            String phrase = String.join(" ", words);
+            List<Entry> matches = new ArrayList<>();
+            for (Map.Entry<Long, Integer> scored : scores.entrySet()) {
+                Entry entry = entries.get(scored.getKey());
+                if (availableOnly && !entry.available) {
+                    continue;
+                }
+                if (categoryFilter != null && !categoryFilter.equalsIgnoreCase(entry.category)) {
+                    continue;
+                }
+                int bonus = entry.normalizedName.equals(phrase) ? SCORE_FULL_NAME : 0;
+                scored.setValue(scored.getValue() + bonus);
+                matches.add(entry);
+            }
+
+            Map<Long, Integer> finalScores = scores;
+            matches.sort((a, b) -> {
+                int byScore = Integer.compare(finalScores.get(b.id), finalScores.get(a.id));
+                return byScore != 0 ? byScore : a.normalizedName.compareTo(b.normalizedName);
+            });
+
+            List<Long> ids = new ArrayList<>(matches.size());
+            for (Entry entry : matches) {
+                ids.add(entry.id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Re-index a created or edited menu item once the transaction commits
+     */
+    public void itemChanged(MenuItem item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        Entry entry = Entry.of(item);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(entry.id);
+                put(entry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Drop a deleted menu item once the transaction commits
+     */
+    public void itemRemoved(Long itemId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(itemId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Score one query word against one field: exact word, then words it starts, then near misses
+    private static void collect(NavigableMap<String, Set<Long>> index, String word,
+                                int exactScore, int prefixScore, int fuzzyScore, Map<Long, Integer> scores) {
+        award(index.get(word), exactScore, scores);
+
+        for (Set<Long> ids : index.subMap(word, false, word + Character.MAX_VALUE, false).values()) {
+            award(ids, prefixScore, scores);
+        }
+
+        if (word.length() < MIN_FUZZY_LENGTH) {
+            return;
+        }
+        int maxEdits = word.length() >= MIN_TWO_TYPO_LENGTH ? 2 : 1;
+        for (Map.Entry<String, Set<Long>> candidate : index.entrySet()) {
+            String other = candidate.getKey();
+            if (Math.abs(other.length() - word.length()) > maxEdits || other.startsWith(word)) {
+                continue;
+            }
+            if (withinEdits(word, other, maxEdits)) {
+                award(candidate.getValue(), fuzzyScore, scores);
+            }
+        }
+    }
+
+    private static void award(Set<Long> ids, int score, Map<Long, Integer> scores) {
+        if (ids == null) {
+            return;
+        }
+        for (Long id : ids) {
+            scores.merge(id, score, Math::max);
+        }
+    }
+
+    /**
+     * Whether a and b are at most maxEdits insertions, deletions, substitutions
+     * or adjacent swaps apart; gives up as soon as a row exceeds the limit
+     */
+    static boolean withinEdits(String a, String b, int maxEdits) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, previous2[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    // Callers must hold the write lock
+    private void put(Entry entry) {
+        entries.put(entry.id, entry);
+        for (String word : entry.nameWords) {
+            nameWords.computeIfAbsent(word, k -> new HashSet<>()).add(entry.id);
+        }
+        for (String word : entry.descriptionWords) {
+            descriptionWords.computeIfAbsent(word, k -> new HashSet<>()).add(entry.id);
+        }
+    }
+
+    // Callers must hold the write lock
+    private void remove(Long itemId) {
+        Entry entry = entries.remove(itemId);
+        if (entry == null) {
+            return;
+        }
+        unlink(nameWords, entry.nameWords, itemId);
+        unlink(descriptionWords, entry.descriptionWords, itemId);
+    }
+
+    private static void unlink(Map<String, Set<Long>> index, Set<String> words, Long itemId) {
+        for (String word : words) {
+            Set<Long> ids = index.get(word);
+            if (ids != null) {
+                ids.remove(itemId);
+                if (ids.isEmpty()) {
+                    index.remove(word);
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> words = new ArrayList<>();
+        for (String word : NON_WORD.split(folded.toLowerCase())) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Entry {
+        final Long id;
+        final String normalizedName;
+        final String category;
+        final boolean available;
+        final Set<String> nameWords;
+        final Set<String> descriptionWords;
+
+        private Entry(Long id, String normalizedName, String category, boolean available,
+                      Set<String> nameWords, Set<String> descriptionWords) {
+            this.id = id;
+            this.normalizedName = normalizedName;
+            this.category = category;
+            this.available = available;
+            this.nameWords = nameWords;
+            this.descriptionWords = descriptionWords;
+        }
+
+        static Entry of(MenuItem item) {
+            List<String> name = tokenize(item.getName());
+            return new Entry(item.getId(), String.join(" ", name), item.getCategory(), item.isAvailable(),
+                    new HashSet<>(name), new HashSet<>(tokenize(item.getDescription())));
+        }
+    }
+}
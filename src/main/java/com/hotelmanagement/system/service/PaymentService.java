@@ -20,6 +20,9 @@ public class PaymentService {
     @Autowired
     private HotelCardRepository hotelCardRepository;
 
+    @Autowired
+    private DailyRollupService dailyRollups;
+
     /**
      * Process card payment with proper validation and error handling
      * Ensures the card belongs to the customer making the payment
@@ -63,6 +66,7 @@ public class PaymentService {
         payment.setPaymentIdentifier(cardNumber); // CRITICAL: Store for refund processing
 
         Payment savedPayment = paymentRepository.save(payment);
+        dailyRollups.paymentChanged(savedPayment);
 
         System.out.println(String.format(
                 "Payment processed: $%.2f charged to card ending in %s. Booking ID: %d",
@@ -88,6 +92,7 @@ public class PaymentService {
         payment.setPaymentIdentifier("CASH_" + System.currentTimeMillis()); // Unique identifier
 
         Payment savedPayment = paymentRepository.save(payment);
+        dailyRollups.paymentChanged(savedPayment);
 
         System.out.println(String.format(
                 "Cash payment processed: $%.2f for Booking ID: %d",
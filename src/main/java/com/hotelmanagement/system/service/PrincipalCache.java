@@ -0,0 +1,69 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.model.UserPrincipal;
+import com.hotelmanagement.system.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of signed-in users' principals, so role checks on staff
+ * pages and APIs do not load the user on every request.
+ *
+ * UserService evicts an entry whenever that user is updated or deleted; the
+ * TTL bounds staleness for any change made outside it.
+ */
+@Service
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${app.principal-cache.ttl-ms:60000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * The user's principal, or null if there is no such user
+     */
+    public UserPrincipal get(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.principal;
+        }
+
+        UserPrincipal principal = userRepository.findById(userId).map(UserPrincipal::from).orElse(null);
+        if (principal == null) {
+            entries.remove(userId);
+            return null;
+        }
+        entries.put(userId, new Entry(principal, now + ttlMillis));
+        return principal;
+    }
+
+    /**
+     * Forget a user's principal, e.g. after a role change
+     */
+    public void evict(Long userId) {
+        entries.remove(userId);
+    }
+
+    private static final class Entry {
+        final UserPrincipal principal;
+        final long expiresAt;
+
+        Entry(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
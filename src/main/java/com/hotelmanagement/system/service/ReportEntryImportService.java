@@ -0,0 +1,321 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.model.Report;
+import com.hotelmanagement.system.repository.ReportRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk import of revenue and expense entries into a financial report from CSV.
+ *
+ * Each line is {@code type,source or category,description,amount,date}, where
+ * type is REVENUE or EXPENSE and the date is yyyy-MM-dd; a header line is
+ * optional. The CSV is read and validated in one pass, valid rows go into the
+ * database as JDBC batches of a fixed size, and the report total is adjusted
+ * once at the end. By default the import is all or nothing: any invalid row
+ * rolls the whole import back, and every problem is reported by line number.
+ */
+@Service
+public class ReportEntryImportService {
+
+    private static final String INSERT_REVENUE =
+            "INSERT INTO revenue_entries (report_id, source, description, amount, entry_date, created_at, created_by) " +
+            "VALUES (:reportId, :name, :description, :amount, :entryDate, :createdAt, :createdBy)";
+    private static final String INSERT_EXPENSE =
+            "INSERT INTO expense_entries (report_id, category, description, amount, entry_date, created_at, created_by) " +
+            "VALUES (:reportId, :name, :description, :amount, :entryDate, :createdAt, :createdBy)";
+
+    // Per-row problems listed in the result; any beyond this are only counted
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ReportRepository reportRepository;
+    private final ReportingService reportingService;
+    private final int batchSize;
+
+    @Autowired
+    public ReportEntryImportService(NamedParameterJdbcTemplate jdbcTemplate, ReportRepository reportRepository,
+                                    ReportingService reportingService,
+                                    @Value("${app.reporting.import-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reportRepository = reportRepository;
+        this.reportingService = reportingService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import entries from CSV into a report. With skipInvalid, valid rows are
+     * kept even if others fail; otherwise nothing is imported unless every row
+     * is valid. Returns counts, the new report total and the per-row errors.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public Map<String, Object> importCsv(Long reportId, Reader csv, boolean skipInvalid, String createdBy)
+            throws IOException {
+        Report report = reportRepository.findById(reportId)
+                .orElseThrow(() -> new RuntimeException("Report not found with ID: " + reportId));
+        if ("FINALIZED".equals(report.getStatus())) {
+            throw new RuntimeException("Cannot modify finalized report");
+        }
+        boolean acceptsRevenue = "REVENUE".equals(report.getReportType()) || "PROFIT_LOSS".equals(report.getReportType());
+        boolean acceptsExpense = "EXPENSE".equals(report.getReportType()) || "PROFIT_LOSS".equals(report.getReportType());
+        if (!acceptsRevenue && !acceptsExpense) {
+            throw new RuntimeException("Cannot import entries into " + report.getReportType() + " report");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String author = createdBy != null ? createdBy : "System";
+        List<SqlParameterSource> revenueRows = new ArrayList<>(batchSize);
+        List<SqlParameterSource> expenseRows = new ArrayList<>(batchSize);
+        List<Map<String, Object>> errors = new ArrayList<>();
+        int rowsRead = 0;
+        int rejected = 0;
+        int imported = 0;
+        double revenueTotal = 0;
+        double expenseTotal = 0;
+
+        CsvRecords records = new CsvRecords(csv);
+        List<String> fields;
+        while ((fields = records.next()) != null) {
+            if (rowsRead == 0 && records.line() == 1 && !fields.isEmpty()
+                    && "type".equalsIgnoreCase(fields.get(0).trim())) {
+                continue;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            rowsRead++;
+
+            String problem;
+            MapSqlParameterSource row = null;
+            boolean revenue = false;
+            try {
+                if (fields.size() != 5) {
+                    throw new IllegalArgumentException("Expected 5 columns, found " + fields.size());
+                }
+                String type = fields.get(0).trim().toUpperCase(Locale.ROOT);
+                revenue = "REVENUE".equals(type);
+                if (!revenue && !"EXPENSE".equals(type)) {
+                    throw new IllegalArgumentException("Type must be REVENUE or EXPENSE");
+                }
+                if (revenue ? !acceptsRevenue : !acceptsExpense) {
+                    throw new IllegalArgumentException("Cannot add " + type.toLowerCase(Locale.ROOT)
+                            + " entry to " + report.getReportType() + " report");
+                }
+                row = new MapSqlParameterSource()
+                        .addValue("reportId", reportId)
+                        .addValue("name", text(fields.get(1), revenue ? "Source" : "Category", 100))
+                        .addValue("description", text(fields.get(2), "Description", 500))
+                        .addValue("amount", amount(fields.get(3)))
+                        .addValue("entryDate", date(fields.get(4)))
+                        .addValue("createdAt", now)
+                        .addValue("createdBy", author);
+                problem = null;
+            } catch (IllegalArgumentException e) {
+                problem = e.getMessage();
+            }
+
+            if (problem != null) {
+                rejected++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("line", records.line());
+                    error.put("error", problem);
+                    errors.add(error);
+                }
+                continue;
+            }
+            if (rejected > 0 && !skipInvalid) {
+                // The import will be rolled back; keep validating but stop writing
+                continue;
+            }
+
+            double amount = (Double) row.getValue("amount");
+            if (revenue) {
+                revenueRows.add(row);
+                revenueTotal += amount;
+                imported += flushIfFull(INSERT_REVENUE, revenueRows);
+            } else {
+                expenseRows.add(row);
+                expenseTotal += amount;
+                imported += flushIfFull(INSERT_EXPENSE, expenseRows);
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("reportId", reportId);
+        result.put("rowsRead", rowsRead);
+        result.put("rejected", rejected);
+        result.put("errors", errors);
+        result.put("errorsTruncated", rejected > errors.size());
+
+        if (rejected > 0 && !skipInvalid) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            result.put("success", false);
+            result.put("imported", 0);
+            result.put("totalAmount", report.getTotalAmount());
+            return result;
+        }
+
+        imported += flush(INSERT_REVENUE, revenueRows) + flush(INSERT_EXPENSE, expenseRows);
+        reportingService.applyToTotal(report, revenueTotal, expenseTotal);
+        result.put("success", true);
+        result.put("imported", imported);
+        result.put("totalAmount", reportingService.getReportById(reportId).getTotalAmount());
+        return result;
+    }
+
+    private int flushIfFull(String sql, List<SqlParameterSource> rows) {
+        return rows.size() >= batchSize ? flush(sql, rows) : 0;
+    }
+
+    private int flush(String sql, List<SqlParameterSource> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(sql, rows.toArray(new SqlParameterSource[0]));
+        int count = rows.size();
+        rows.clear();
+        return count;
+    }
+
+    private static String text(String value, String column, int maxLength) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        if (trimmed.length() > maxLength) {
+            throw new IllegalArgumentException(column + " is longer than " + maxLength + " characters");
+        }
+        return trimmed;
+    }
+
+    private static double amount(String value) {
+        try {
+            double amount = Double.parseDouble(value.trim());
+            if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+                throw new NumberFormatException();
+            }
+            return amount;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Amount '" + value.trim() + "' is not a number");
+        }
+    }
+
+    private static LocalDate date(String value) {
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Date '" + value.trim() + "' is not in yyyy-MM-dd format");
+        }
+    }
+
+    /**
+     * Reads CSV records one at a time: comma-separated, with double-quoted
+     * fields that may contain commas, doubled quotes and line breaks
+     */
+    private static final class CsvRecords {
+        private final Reader in;
+        private int nextLine = 1;
+        private int recordLine;
+        private int pending = -2;
+        private boolean started;
+
+        CsvRecords(Reader in) {
+            this.in = in;
+        }
+
+        /**
+         * Line number the last record started on
+         */
+        int line() {
+            return recordLine;
+        }
+
+        List<String> next() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = nextLine;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                    }
+                    if (c == '"') {
+                        int after = read();
+                        if (after == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = after;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            nextLine++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        int after = read();
+                        if (after != '\n') {
+                            pending = after;
+                        }
+                    }
+                    if (c != -1) {
+                        nextLine++;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            int c = in.read();
+            if (!started) {
+                started = true;
+                // Skip the byte order mark spreadsheet programs put at the start of UTF-8 files
+                if (c == '\uFEFF') {
+                    c = in.read();
+                }
+            }
+            return c;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.model.ReportJob;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders PDF reports in the background so request threads never wait on the renderer.
+ *
+ * Submitting a report returns a job at once; a small worker pool streams the
+ * PDF to a file in the cache directory. Files are named after the report type,
+ * the period and the versions of the rollups, room availability and users, so
+ * a repeat request for unchanged data is served from the existing file, and
+ * any change to the underlying data makes a new one. Files and finished jobs expire after a fixed time.
+ */
+@Service
+public class ReportJobService {
+
+    public static final List<String> REPORT_TYPES =
+            List.of("revenue", "occupancy", "customers", "food-beverage", "comprehensive");
+
+    private final ReportPdfRenderer renderer;
+    private final DailyRollupService dailyRollups;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final ReportResultCache reportCache;
+    private final Path cacheDir;
+    private final long ttlMillis;
+    private final ThreadPoolExecutor workers;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    // Cache key -> the job producing (or that produced) that file
+    private final Map<String, ReportJob> jobsByKey = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReportJobService(ReportPdfRenderer renderer, DailyRollupService dailyRollups,
+                            RoomAvailabilityIndex availabilityIndex, ReportResultCache reportCache,
+                            @Value("${app.reports.pdf.cache-dir:${java.io.tmpdir}/hotel-report-cache}") String cacheDir,
+                            @Value("${app.reports.pdf.ttl-ms:3600000}") long ttlMillis,
+                            @Value("${app.reports.pdf.workers:2}") int workerCount,
+                            @Value("${app.reports.pdf.queue-size:20}") int queueSize) {
+        this.renderer = renderer;
+        this.dailyRollups = dailyRollups;
+        this.availabilityIndex = availabilityIndex;
+        this.reportCache = reportCache;
+        this.cacheDir = Paths.get(cacheDir).toAbsolutePath();
+        this.ttlMillis = ttlMillis;
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), new CustomizableThreadFactory("report-pdf-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.workers.allowCoreThreadTimeOut(true);
+        try {
+            Files.createDirectories(this.cacheDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create report cache directory " + this.cacheDir, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Start rendering a report, or return the job that already covers the same
+     * report and data. Throws IllegalStateException if the queue is full.
+     */
+    public ReportJob submit(String reportType, LocalDate startDate, LocalDate endDate) {
+        String type = reportType == null ? "" : reportType.trim().toLowerCase();
+        if (!REPORT_TYPES.contains(type)) {
+            throw new IllegalArgumentException("Invalid report type. Must be one of: " + String.join(", ", REPORT_TYPES));
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+
+        // Fold pending writes into the rollups first so the version reflects them
+        dailyRollups.flush();
+        String key = type + "_" + startDate + "_" + endDate
+                + "_v" + dailyRollups.getVersion() + "-" + availabilityIndex.getVersion()
+                + "-" + reportCache.getUsersVersion();
+        Path file = cacheDir.resolve(key + ".pdf");
+
+        boolean[] created = {false};
+        ReportJob job = jobsByKey.compute(key, (k, current) -> {
+            if (current != null && reusable(current)) {
+                return current;
+            }
+            created[0] = true;
+            return new ReportJob(UUID.randomUUID().toString(), type, startDate, endDate, file);
+        });
+        if (!created[0]) {
+            return job;
+        }
+
+        jobs.put(job.getId(), job);
+        if (Files.isRegularFile(file)) {
+            job.markDone();
+            return job;
+        }
+        try {
+            workers.execute(() -> render(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            jobsByKey.remove(key, job);
+            throw new IllegalStateException("Too many reports are being generated. Please try again shortly.");
+        }
+        return job;
+    }
+
+    public Optional<ReportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Drop finished jobs and cached files older than the TTL
+     */
+    @Scheduled(fixedDelayString = "${app.reports.pdf.cleanup-ms:300000}")
+    public void expire() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(ttlMillis * 1_000_000);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+        jobsByKey.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+
+        long cutoffMillis = System.currentTimeMillis() - ttlMillis;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, "*.{pdf,part}")) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).toMillis() < cutoffMillis) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to clean report cache " + cacheDir + ": " + e.getMessage());
+        }
+    }
+
+    private boolean reusable(ReportJob job) {
+        switch (job.getStatus()) {
+            case FAILED:
+                return false;
+            case DONE:
+                return Files.isRegularFile(job.getFile());
+            default:
+                return true;
+        }
+    }
+
+    private void render(ReportJob job) {
+        job.markRunning();
+        Path part = job.getFile().resolveSibling(job.getFile().getFileName() + "." + job.getId() + ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), 64 * 1024)) {
+                renderer.render(job.getReportType(), job.getStartDate(), job.getEndDate(), out);
+            }
+            Files.move(part, job.getFile(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.markDone();
+        } catch (Exception e) {
+            System.err.println("Failed to render " + job.getReportType() + " report " + job.getId() + ": " + e.getMessage());
+            job.markFailed(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException ignored) {
+                // Swept up by expire()
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.hotelmanagement.system.service;
+
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lays out a report as HTML and renders it to PDF with OpenHTMLtoPDF
+ */
+@Service
+public class ReportPdfRenderer {
+
+    private final ReportsService reportsService;
+
+    @Autowired
+    public ReportPdfRenderer(ReportsService reportsService) {
+        this.reportsService = reportsService;
+    }
+
+    /**
+     * Render a report as PDF, writing it to the given stream as it is produced
+     */
+    public void render(String reportType, LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        PdfRendererBuilder builder = new PdfRendererBuilder();
+        builder.useFastMode();
+        builder.withHtmlContent(buildReportHtml(reportType, startDate, endDate), null);
+        builder.toStream(out);
+        builder.run();
+    }
+
+    private String buildReportHtml(String reportType, LocalDate startDate, LocalDate endDate) {
+        StringBuilder html = new StringBuilder();
+        html.append("<html><head><meta charset='UTF-8'/><style>")
+            .append("body{font-family:Arial,Helvetica,sans-serif;color:#333;padding:20px;}")
+            .append("h1{font-size:20px;margin:0 0 10px}")
+            .append("h2{font-size:16px;margin:20px 0 8px}")
+            .append("table{width:100%;border-collapse:collapse;margin-top:10px}")
+            .append("th,td{border:1px solid #ddd;padding:8px;font-size:12px}")
+            .append("th{background:#f5f5f5;text-align:left}")
+            .append(".muted{color:#777;font-size:12px}")
+            .append("</style></head><body>");
+
+        html.append("<h1>").append(reportType.toUpperCase()).append(" Report</h1>");
+        html.append("<div class='muted'>Period: ")
+            .append(startDate.toString()).append(" to ")
+            .append(endDate.toString()).append("</div>");
+
+        switch (reportType.toLowerCase()) {
+            case "revenue": {
+                Map<String, Object> data = reportsService.generateRevenueReport(startDate, endDate);
+                html.append("<h2>Summary</h2>");
+                html.append("<table><tbody>")
+                    .append(row("Total Revenue", "$" + fmt(data.get("totalRevenue"))))
+                    .append(row("Booking Revenue", "$" + fmt(data.get("totalBookingRevenue"))))
+                    .append(row("Food Revenue", "$" + fmt(data.get("totalFoodRevenue"))))
+                    .append(row("Total Bookings", String.valueOf(data.get("totalBookings"))))
+                    .append(row("Total Food Orders", String.valueOf(data.get("totalFoodOrders"))))
+                    .append("</tbody></table>");
+                break;
+            }
+            case "occupancy": {
+                Map<String, Object> data = reportsService.generateOccupancyReport(startDate, endDate);
+                html.append("<h2>Daily Occupancy</h2>");
+                html.append("<table><thead><tr><th>Date</th><th>Occupied</th><th>Total</th><th>Rate</th></tr></thead><tbody>");
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> days = (List<Map<String, Object>>) data.get("dailyOccupancy");
+                for (Map<String, Object> d : days) {
+                    html.append("<tr>")
+                        .append(cell(String.valueOf(d.get("dateFormatted"))))
+                        .append(cell(String.valueOf(d.get("occupiedRooms"))))
+                        .append(cell(String.valueOf(d.get("totalRooms"))))
+                        .append(cell(String.valueOf(d.get("occupancyRate")) + "%"))
+                        .append("</tr>");
+                }
+                html.append("</tbody></table>");
+                break;
+            }
+            case "customers": {
+                Map<String, Object> data = reportsService.generateCustomerReport(startDate, endDate);
+                html.append("<h2>Top Customers</h2>");
+                html.append("<table><thead><tr><th>Name</th><th>Email</th><th>Total Spent</th><th>Bookings</th></tr></thead><tbody>");
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> customers = (List<Map<String, Object>>) data.get("topCustomers");
+                for (Map<String, Object> c : customers) {
+                    html.append("<tr>")
+                        .append(cell(String.valueOf(c.get("name"))))
+                        .append(cell(String.valueOf(c.get("email"))))
+                        .append(cell("$" + fmt(c.get("totalSpent"))))
+                        .append(cell(String.valueOf(c.get("bookingCount"))))
+                        .append("</tr>");
+                }
+                html.append("</tbody></table>");
+                break;
+            }
+            case "food-beverage": {
+                Map<String, Object> data = reportsService.generateFoodBeverageReport(startDate, endDate);
+                html.append("<h2>Summary</h2>");
+                html.append("<table><tbody>")
+                    .append(row("Total Revenue", "$" + fmt(data.get("totalRevenue"))))
+                    .append(row("Total Orders", String.valueOf(data.get("totalOrders"))))
+                    .append(row("Completed Orders", String.valueOf(data.get("completedOrders"))))
+                    .append(row("Average Order Value", "$" + fmt(data.get("averageOrderValue"))))
+                    .append("</tbody></table>");
+                break;
+            }
+            case "comprehensive": {
+                Map<String, Object> data = reportsService.generateComprehensiveReport(startDate, endDate);
+                html.append("<h2>Revenue</h2>");
+                Map<String, Object> rev = (Map<String, Object>) data.get("revenue");
+                html.append("<table><tbody>")
+                    .append(row("Total Revenue", "$" + fmt(rev.get("totalRevenue"))))
+                    .append(row("Booking Revenue", "$" + fmt(rev.get("totalBookingRevenue"))))
+                    .append(row("Food Revenue", "$" + fmt(rev.get("totalFoodRevenue"))))
+                    .append("</tbody></table>");
+                break;
+            }
+            default:
+                html.append("<p>Invalid report type</p>");
+        }
+
+        html.append("</body></html>");
+        return html.toString();
+    }
+
+    private String row(String k, String v) {
+        return "<tr><th>" + HtmlUtils.htmlEscape(k) + "</th><td>" + HtmlUtils.htmlEscape(v) + "</td></tr>";
+    }
+
+    private String cell(String v) {
+        return "<td>" + HtmlUtils.htmlEscape(v) + "</td>";
+    }
+
+    private String fmt(Object n) {
+        try {
+            double d = n instanceof Number ? ((Number) n).doubleValue() : Double.parseDouble(String.valueOf(n));
+            return String.format(java.util.Locale.US, "%,.2f", d);
+        } catch (Exception e) {
+            return String.valueOf(n);
+        }
+    }
+}
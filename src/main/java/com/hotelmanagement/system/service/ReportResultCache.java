@@ -0,0 +1,183 @@
+package com.hotelmanagement.system.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Results of the manager reports, keyed by report type and period.
+ *
+ * Reports over closed periods (ending before today) are kept until evicted;
+ * reports that include today expire after a short TTL. Either kind is dropped
+ * as soon as the daily rollups are refreshed for a day it covers, and customer
+ * reports whenever a user is added, changed or removed. The cache holds at
+ * most a fixed number of reports, evicting the least recently used.
+ *
+ * Hits and misses are published as the reports.cache.requests meter.
+ */
+@Service
+public class ReportResultCache {
+
+    // Report types that include the customer section
+    private static final Set<String> CUSTOMER_REPORTS = Set.of("customers", "comprehensive");
+
+    private final long openTtlMillis;
+    private final MeterRegistry meterRegistry;
+    private final Counter evictions;
+
+    // Access-ordered, so the eldest entry is the least recently used; guarded by itself
+    private final LinkedHashMap<String, Entry> entries;
+    // Bumped by every invalidation; a result computed across one is not stored
+    private final AtomicLong generation = new AtomicLong();
+    // Bumped whenever customer data changes; lets other caches of customer reports key on it
+    private final AtomicLong usersVersion = new AtomicLong();
+    private final Map<String, Counter> hits = new ConcurrentHashMap<>();
+    private final Map<String, Counter> misses = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReportResultCache(MeterRegistry meterRegistry,
+                             @Value("${app.reports.cache.max-entries:500}") int maxEntries,
+                             @Value("${app.reports.cache.open-ttl-ms:30000}") long openTtlMillis) {
+        this.meterRegistry = meterRegistry;
+        this.openTtlMillis = openTtlMillis;
+        this.evictions = Counter.builder("reports.cache.evictions")
+                .description("Cached reports evicted to stay within the size limit")
+                .register(meterRegistry);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        meterRegistry.gauge("reports.cache.size", this, cache -> cache.size());
+    }
+
+    /**
+     * The cached report for a type, period and variant (e.g. a room type), or
+     * the freshly computed one. Cached reports are read-only.
+     */
+    public Map<String, Object> get(String reportType, LocalDate startDate, LocalDate endDate, String variant,
+                                   Supplier<Map<String, Object>> compute) {
+        String key = reportType + "|" + startDate + "|" + endDate + "|" + (variant != null ? variant : "");
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                counter(hits, reportType, "hit").increment();
+                return entry.report;
+            }
+        }
+        counter(misses, reportType, "miss").increment();
+
+        long startedAt = generation.get();
+        Map<String, Object> report = Collections.unmodifiableMap(compute.get());
+        boolean closed = endDate.isBefore(LocalDate.now());
+        Entry entry = new Entry(reportType, startDate, endDate, report,
+                closed ? Long.MAX_VALUE : System.currentTimeMillis() + openTtlMillis);
+        synchronized (entries) {
+            if (generation.get() == startedAt) {
+                entries.put(key, entry);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Drop every report whose period overlaps the given days (inclusive)
+     */
+    public void invalidate(LocalDate from, LocalDate to) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> !entry.endDate.isBefore(from) && !entry.startDate.isAfter(to));
+        }
+    }
+
+    /**
+     * Drop the reports that count customers, once the transaction adding,
+     * changing or removing a user commits
+     */
+    public void usersChanged() {
+        Runnable drop = () -> {
+            synchronized (entries) {
+                generation.incrementAndGet();
+                usersVersion.incrementAndGet();
+                entries.values().removeIf(entry -> CUSTOMER_REPORTS.contains(entry.reportType));
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            drop.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                drop.run();
+            }
+        });
+    }
+
+    /**
+     * Drop every cached report
+     */
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    /**
+     * Version of the customer data behind the reports; changes once each user
+     * change commits
+     */
+    public long getUsersVersion() {
+        return usersVersion.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String reportType, String result) {
+        return counters.computeIfAbsent(reportType, type -> Counter.builder("reports.cache.requests")
+                .description("Report requests answered from the cache (hit) or computed (miss)")
+                .tag("report", type)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+
+    private static final class Entry {
+        final String reportType;
+        final LocalDate startDate;
+        final LocalDate endDate;
+        final Map<String, Object> report;
+        final long expiresAt;
+
+        Entry(String reportType, LocalDate startDate, LocalDate endDate, Map<String, Object> report, long expiresAt) {
+            this.reportType = reportType;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.report = report;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
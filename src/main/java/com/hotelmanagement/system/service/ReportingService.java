@@ -3,6 +3,7 @@ package com.hotelmanagement.system.service;
 import com.hotelmanagement.system.model.*;
 import com.hotelmanagement.system.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -71,6 +72,18 @@ public class ReportingService {
     @Transactional
     public Report createReport(String reportType, String reportName, String description,
                                LocalDateTime startDate, LocalDateTime endDate, String generatedBy) {
+        return createReport(reportType, reportName, description, startDate, endDate, generatedBy, false);
+    }
+
+    /**
+     * Create a report. With autoPopulate, a REVENUE or PROFIT_LOSS report is
+     * filled with one revenue entry per day and payment source from the
+     * successful payments in its period, and its total set, all in the database.
+     */
+    @Transactional
+    public Report createReport(String reportType, String reportName, String description,
+                               LocalDateTime startDate, LocalDateTime endDate, String generatedBy,
+                               boolean autoPopulate) {
 
         if (!Arrays.asList("REVENUE", "EXPENSE", "PROFIT_LOSS", "OCCUPANCY").contains(reportType)) {
             throw new RuntimeException("Invalid report type");
@@ -87,7 +100,21 @@ public class ReportingService {
         report.setTotalAmount(0.0);
         report.setGeneratedDate(LocalDateTime.now());
 
-        return reportRepository.save(report);
+        if (!autoPopulate) {
+            return reportRepository.save(report);
+        }
+        if (!"REVENUE".equals(reportType) && !"PROFIT_LOSS".equals(reportType)) {
+            throw new RuntimeException("Only revenue and profit/loss reports can be filled from payments");
+        }
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new RuntimeException("A valid start and end date are required to fill a report from payments");
+        }
+
+        Report saved = reportRepository.save(report);
+        LocalDateTime now = LocalDateTime.now();
+        revenueEntryRepository.insertFromPayments(saved.getId(), startDate, endDate, now, saved.getGeneratedBy());
+        reportRepository.addRevenueEntriesToTotal(saved.getId(), now);
+        return getReportById(saved.getId());
     }
 
     // ==================== REVENUE ENTRIES ====================
@@ -116,7 +143,8 @@ public class ReportingService {
         entry.setCreatedAt(LocalDateTime.now());
 
         RevenueEntry savedEntry = revenueEntryRepository.save(entry);
-        updateReportTotal(reportId);
+        applyToTotal(report, amount, 0);
+        savedEntry.setReport(getReportById(reportId));
 
         return savedEntry;
     }
@@ -131,6 +159,7 @@ public class ReportingService {
             throw new RuntimeException("Cannot modify entry in finalized report");
         }
 
+        double oldAmount = entry.getAmount();
         entry.setSource(source);
         entry.setDescription(description);
         entry.setAmount(amount);
@@ -138,8 +167,10 @@ public class ReportingService {
 
         RevenueEntry updated = revenueEntryRepository.save(entry);
 
-        if (entry.getReport() != null) {
-            updateReportTotal(entry.getReport().getId());
+        if (updated.getReport() != null) {
+            Long reportId = updated.getReport().getId();
+            applyToTotal(updated.getReport(), updated.getAmount() - oldAmount, 0);
+            updated.setReport(getReportById(reportId));
         }
 
         return updated;
@@ -154,11 +185,10 @@ public class ReportingService {
             throw new RuntimeException("Cannot delete entry from finalized report");
         }
 
-        Long reportId = entry.getReport() != null ? entry.getReport().getId() : null;
         revenueEntryRepository.deleteById(entryId);
 
-        if (reportId != null) {
-            updateReportTotal(reportId);
+        if (entry.getReport() != null) {
+            applyToTotal(entry.getReport(), -entry.getAmount(), 0);
         }
     }
 
@@ -188,7 +218,8 @@ public class ReportingService {
         entry.setCreatedAt(LocalDateTime.now());
 
         ExpenseEntry savedEntry = expenseEntryRepository.save(entry);
-        updateReportTotal(reportId);
+        applyToTotal(report, 0, amount);
+        savedEntry.setReport(getReportById(reportId));
 
         return savedEntry;
     }
@@ -203,6 +234,7 @@ public class ReportingService {
             throw new RuntimeException("Cannot modify entry in finalized report");
         }
 
+        double oldAmount = entry.getAmount();
         entry.setCategory(category);
         entry.setDescription(description);
         entry.setAmount(amount);
@@ -210,8 +242,10 @@ public class ReportingService {
 
         ExpenseEntry updated = expenseEntryRepository.save(entry);
 
-        if (entry.getReport() != null) {
-            updateReportTotal(entry.getReport().getId());
+        if (updated.getReport() != null) {
+            Long reportId = updated.getReport().getId();
+            applyToTotal(updated.getReport(), 0, updated.getAmount() - oldAmount);
+            updated.setReport(getReportById(reportId));
         }
 
         return updated;
@@ -226,43 +260,95 @@ public class ReportingService {
             throw new RuntimeException("Cannot delete entry from finalized report");
         }
 
-        Long reportId = entry.getReport() != null ? entry.getReport().getId() : null;
         expenseEntryRepository.deleteById(entryId);
 
-        if (reportId != null) {
-            updateReportTotal(reportId);
+        if (entry.getReport() != null) {
+            applyToTotal(entry.getReport(), 0, -entry.getAmount());
         }
     }
 
     // ==================== REPORT MANAGEMENT ====================
 
+    /**
+     * Add an entry change to a report's total in a single UPDATE, without reading
+     * its entries. Runs in the caller's transaction, so the total commits or
+     * rolls back with the entries.
+     */
+    public void applyToTotal(Report report, double revenueDelta, double expenseDelta) {
+        reportRepository.addToTotal(report.getId(),
+                reportTotal(report.getReportType(), revenueDelta, expenseDelta), LocalDateTime.now());
+    }
+
+    /**
+     * What revenue and expenses come to on a report of the given type: revenue
+     * counts on REVENUE and PROFIT_LOSS reports, expenses on EXPENSE reports and
+     * against PROFIT_LOSS ones
+     */
+    private static double reportTotal(String reportType, double revenue, double expense) {
+        switch (reportType) {
+            case "REVENUE":
+                return revenue;
+            case "EXPENSE":
+                return expense;
+            case "PROFIT_LOSS":
+                return revenue - expense;
+            default:
+                return 0;
+        }
+    }
+
+    private static double roundCents(double amount) {
+        return Math.round(amount * 100.0) / 100.0;
+    }
+
+    /**
+     * Recompute a report's total from all of its entries. Entry changes keep the
+     * total current on their own; this is for repairs.
+     */
     @Transactional
     public void updateReportTotal(Long reportId) {
         Report report = reportRepository.findById(reportId)
                 .orElseThrow(() -> new RuntimeException("Report not found with ID: " + reportId));
 
-        double total = 0.0;
-
-        if ("REVENUE".equals(report.getReportType())) {
-            List<RevenueEntry> entries = revenueEntryRepository.findByReport(report);
-            total = entries.stream().mapToDouble(RevenueEntry::getAmount).sum();
-        } else if ("EXPENSE".equals(report.getReportType())) {
-            List<ExpenseEntry> entries = expenseEntryRepository.findByReport(report);
-            total = entries.stream().mapToDouble(ExpenseEntry::getAmount).sum();
-        } else if ("PROFIT_LOSS".equals(report.getReportType())) {
-            List<RevenueEntry> revenueEntries = revenueEntryRepository.findByReport(report);
-            List<ExpenseEntry> expenseEntries = expenseEntryRepository.findByReport(report);
-
-            double totalRevenue = revenueEntries.stream().mapToDouble(RevenueEntry::getAmount).sum();
-            double totalExpense = expenseEntries.stream().mapToDouble(ExpenseEntry::getAmount).sum();
-            total = totalRevenue - totalExpense;
-        }
-
-        report.setTotalAmount(Math.round(total * 100.0) / 100.0);
+        report.setTotalAmount(roundCents(reportTotal(report.getReportType(),
+                revenueEntryRepository.sumAmountsByReportId(reportId),
+                expenseEntryRepository.sumAmountsByReportId(reportId))));
         report.setLastModified(LocalDateTime.now());
         reportRepository.save(report);
     }
 
+    /**
+     * Check every report's running total against its entries and correct any
+     * drift, e.g. from entries changed outside this service. Two grouped sums
+     * cover all reports; a total changed while the check runs is left for the
+     * next run.
+     */
+    @Scheduled(cron = "${app.reporting.verify-totals-cron:0 45 3 * * *}")
+    @Transactional
+    public int verifyReportTotals() {
+        Map<Long, Double> revenue = new HashMap<>();
+        for (Object[] row : revenueEntryRepository.sumAmountsByReport()) {
+            revenue.put((Long) row[0], ((Number) row[1]).doubleValue());
+        }
+        Map<Long, Double> expense = new HashMap<>();
+        for (Object[] row : expenseEntryRepository.sumAmountsByReport()) {
+            expense.put((Long) row[0], ((Number) row[1]).doubleValue());
+        }
+
+        int corrected = 0;
+        for (Object[] row : reportRepository.findTotals()) {
+            Long reportId = (Long) row[0];
+            double seen = row[2] != null ? ((Number) row[2]).doubleValue() : 0.0;
+            double expected = roundCents(reportTotal((String) row[1],
+                    revenue.getOrDefault(reportId, 0.0), expense.getOrDefault(reportId, 0.0)));
+            if (Math.abs(expected - seen) >= 0.005 && reportRepository.correctTotal(reportId, expected, seen) > 0) {
+                System.err.println("Report " + reportId + " total was " + seen + ", corrected to " + expected);
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
     @Transactional
     public Report updateReport(Long reportId, String reportName, String description,
                                LocalDateTime startDate, LocalDateTime endDate) {
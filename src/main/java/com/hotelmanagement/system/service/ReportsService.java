@@ -1,123 +1,170 @@
 package com.hotelmanagement.system.service;
 
-import com.hotelmanagement.system.model.Booking;
-import com.hotelmanagement.system.model.FoodOrder;
-import com.hotelmanagement.system.model.User;
+import com.hotelmanagement.system.model.DailyFnb;
+import com.hotelmanagement.system.model.DailyOccupancy;
+import com.hotelmanagement.system.model.DailyRevenue;
 import com.hotelmanagement.system.repository.BookingRepository;
-import com.hotelmanagement.system.repository.FoodOrderRepository;
+import com.hotelmanagement.system.repository.DailyFnbRepository;
+import com.hotelmanagement.system.repository.DailyOccupancyRepository;
+import com.hotelmanagement.system.repository.DailyRevenueRepository;
 import com.hotelmanagement.system.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 public class ReportsService {
 
+    // Food order statuses that count as revenue; orders finish as DELIVERED
+    private static final Set<String> COMPLETED_FOOD_STATUSES = Set.of("DELIVERED", "COMPLETED");
+    private static final int TOP_CUSTOMERS = 10;
+
+    private static final DateTimeFormatter ISO_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("MMM dd, yyyy");
+    private static final DateTimeFormatter DISPLAY_TIMESTAMP = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
+
     private final BookingRepository bookingRepository;
-    private final FoodOrderRepository foodOrderRepository;
     private final UserRepository userRepository;
+    private final DailyRevenueRepository dailyRevenueRepository;
+    private final DailyOccupancyRepository dailyOccupancyRepository;
+    private final DailyFnbRepository dailyFnbRepository;
+    private final DailyRollupService dailyRollups;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final ReportResultCache reportCache;
+
+    // Runs the comprehensive report's sections side by side; the caller runs a section itself when the queue is full
+    private final ExecutorService sectionPool;
 
     @Autowired
     public ReportsService(BookingRepository bookingRepository, 
-                         FoodOrderRepository foodOrderRepository,
-                         UserRepository userRepository) {
+                         UserRepository userRepository,
+                         DailyRevenueRepository dailyRevenueRepository,
+                         DailyOccupancyRepository dailyOccupancyRepository,
+                         DailyFnbRepository dailyFnbRepository,
+                         DailyRollupService dailyRollups,
+                         RoomAvailabilityIndex availabilityIndex,
+                         ReportResultCache reportCache,
+                         @Value("${app.reports.section-threads:4}") int sectionThreads) {
         this.bookingRepository = bookingRepository;
-        this.foodOrderRepository = foodOrderRepository;
         this.userRepository = userRepository;
+        this.dailyRevenueRepository = dailyRevenueRepository;
+        this.dailyOccupancyRepository = dailyOccupancyRepository;
+        this.dailyFnbRepository = dailyFnbRepository;
+        this.dailyRollups = dailyRollups;
+        this.availabilityIndex = availabilityIndex;
+        this.reportCache = reportCache;
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(sectionThreads, sectionThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(64), new CustomizableThreadFactory("report-section-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        this.sectionPool = pool;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sectionPool.shutdown();
     }
 
     /**
-     * Generate revenue report for a date range
+     * Generate revenue report for a date range, from the daily rollups.
+     * Bookings count on their check-in day.
      */
     public Map<String, Object> generateRevenueReport(LocalDate startDate, LocalDate endDate) {
-        List<Booking> bookings = bookingRepository.findAll().stream()
-                .filter(b -> isBookingInDateRange(b, startDate, endDate))
-                .collect(Collectors.toList());
-
-        List<FoodOrder> foodOrders = foodOrderRepository.findAll().stream()
-                .filter(o -> isOrderInDateRange(o, startDate, endDate))
-                .collect(Collectors.toList());
-
-        double totalBookingRevenue = bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()) || "CHECKED_IN".equals(b.getStatus()) || "CHECKED_OUT".equals(b.getStatus()))
-                .mapToDouble(Booking::getTotalPrice)
-                .sum();
-
-        double totalFoodRevenue = foodOrders.stream()
-                .filter(o -> "COMPLETED".equals(o.getStatus()))
-                .mapToDouble(FoodOrder::getTotalPrice)
-                .sum();
-
-        double totalRevenue = totalBookingRevenue + totalFoodRevenue;
-
-        Map<String, Object> report = new HashMap<>();
-        report.put("startDate", startDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        report.put("endDate", endDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        report.put("totalBookingRevenue", totalBookingRevenue);
-        report.put("totalFoodRevenue", totalFoodRevenue);
-        report.put("totalRevenue", totalRevenue);
-        report.put("totalBookings", bookings.size());
-        report.put("totalFoodOrders", foodOrders.size());
-        report.put("averageBookingValue", bookings.isEmpty() ? 0 : totalBookingRevenue / bookings.size());
-        report.put("averageFoodOrderValue", foodOrders.isEmpty() ? 0 : totalFoodRevenue / foodOrders.size());
-
-        return report;
+        dailyRollups.flush();
+        return reportCache.get("revenue", startDate, endDate, null, () -> revenueSection(startDate, endDate,
+                dailyRevenueRepository.findByDayBetweenOrderByDay(startDate, endDate),
+                FoodTotals.of(dailyFnbRepository.findByDayBetweenOrderByDay(startDate, endDate))));
     }
 
     /**
-     * Generate occupancy report for a date range
+     * Generate occupancy report for a date range across all rooms
      */
     public Map<String, Object> generateOccupancyReport(LocalDate startDate, LocalDate endDate) {
-        List<Booking> bookings = bookingRepository.findAll().stream()
-                .filter(b -> isBookingInDateRange(b, startDate, endDate))
-                .collect(Collectors.toList());
+        return generateOccupancyReport(startDate, endDate, null);
+    }
+
+    /**
+     * Generate occupancy report for a date range, optionally for one room type.
+     * A stay occupies the nights from check-in up to, not including, check-out.
+     * Rates are against the rooms currently in service.
+     */
+    public Map<String, Object> generateOccupancyReport(LocalDate startDate, LocalDate endDate, String roomType) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        String type = roomType == null || roomType.isBlank() || roomType.equalsIgnoreCase("all")
+                ? null : roomType.trim().toUpperCase();
+        dailyRollups.flush();
+        // Rates depend on the rooms in service, so a change to them means a new key
+        String variant = (type != null ? type : "ALL") + availabilityIndex.capacityByType();
+        return reportCache.get("occupancy", startDate, endDate, variant,
+                () -> occupancySection(startDate, endDate, type));
+    }
+
+    private Map<String, Object> occupancySection(LocalDate startDate, LocalDate endDate, String type) {
+        Map<String, Integer> capacity = availabilityIndex.capacityByType();
+        int totalRooms = type != null ? capacity.getOrDefault(type, 0)
+                : capacity.values().stream().mapToInt(Integer::intValue).sum();
+
+        int[] occupied;
+        if (type != null) {
+            occupied = DailyRollupService.occupiedPerNight(startDate, endDate,
+                    bookingRepository.findStayDatesOverlappingByType(startDate, endDate, type));
+        } else {
+            occupied = new int[(int) ChronoUnit.DAYS.between(startDate, endDate) + 1];
+            for (DailyOccupancy day : dailyOccupancyRepository.findByDayBetweenOrderByDay(startDate, endDate)) {
+                occupied[(int) ChronoUnit.DAYS.between(startDate, day.getDay())] = day.getOccupiedRooms();
+            }
+        }
 
         // Calculate daily occupancy
-        List<Map<String, Object>> dailyOccupancy = new ArrayList<>();
-        Map<String, Double> dailyRates = new HashMap<>();
-        
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            final LocalDate currentDate = date; // capture effectively final for lambda
-            long occupiedRooms = bookings.stream()
-                    .filter(b -> isBookingActiveOnDate(b, currentDate))
-                    .count();
-            
-            // Assuming 50 total rooms (you can make this dynamic)
-            int totalRooms = 50;
-            double occupancyRate = totalRooms > 0 ? (double) occupiedRooms / totalRooms * 100 : 0;
-            
+        List<Map<String, Object>> dailyOccupancy = new ArrayList<>(occupied.length);
+        double rateSum = 0;
+        double peakOccupancy = 0;
+
+        for (int i = 0; i < occupied.length; i++) {
+            LocalDate date = startDate.plusDays(i);
+            double occupancyRate = totalRooms > 0 ? (double) occupied[i] / totalRooms * 100 : 0;
+            rateSum += occupancyRate;
+            peakOccupancy = Math.max(peakOccupancy, occupancyRate);
+
             Map<String, Object> dayData = new HashMap<>();
-            dayData.put("date", date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-            dayData.put("dateFormatted", date.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")));
-            dayData.put("occupiedRooms", occupiedRooms);
+            dayData.put("date", date.format(ISO_DATE));
+            dayData.put("dateFormatted", date.format(DISPLAY_DATE));
+            dayData.put("occupiedRooms", occupied[i]);
             dayData.put("totalRooms", totalRooms);
             dayData.put("occupancyRate", Math.round(occupancyRate * 100.0) / 100.0);
-            
             dailyOccupancy.add(dayData);
-            dailyRates.put(date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")), occupancyRate);
         }
 
-        double averageOccupancy = dailyRates.values().stream()
-                .mapToDouble(Double::doubleValue)
-                .average()
-                .orElse(0.0);
-
-        double peakOccupancy = dailyRates.values().stream()
-                .mapToDouble(Double::doubleValue)
-                .max()
-                .orElse(0.0);
+        double averageOccupancy = occupied.length > 0 ? rateSum / occupied.length : 0.0;
 
         Map<String, Object> report = new HashMap<>();
-        report.put("startDate", startDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        report.put("endDate", endDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+        report.put("startDate", startDate.format(ISO_DATE));
+        report.put("endDate", endDate.format(ISO_DATE));
+        report.put("roomType", type != null ? type : "ALL");
+        report.put("totalRooms", totalRooms);
         report.put("dailyOccupancy", dailyOccupancy);
         report.put("averageOccupancy", Math.round(averageOccupancy * 100.0) / 100.0);
         report.put("peakOccupancy", Math.round(peakOccupancy * 100.0) / 100.0);
-        report.put("totalDays", (int) startDate.until(endDate).getDays() + 1);
+        report.put("totalDays", occupied.length);
 
         return report;
     }
@@ -126,51 +173,33 @@ public class ReportsService {
      * Generate customer report
      */
     public Map<String, Object> generateCustomerReport(LocalDate startDate, LocalDate endDate) {
-        List<Booking> bookings = bookingRepository.findAll().stream()
-                .filter(b -> isBookingInDateRange(b, startDate, endDate))
-                .collect(Collectors.toList());
+        dailyRollups.flush();
+        return reportCache.get("customers", startDate, endDate, null, () -> customerSection(startDate, endDate));
+    }
 
-        List<User> customers = userRepository.findAll().stream()
-                .filter(u -> "GUEST".equals(u.getRole()))
-                .collect(Collectors.toList());
+    private Map<String, Object> customerSection(LocalDate startDate, LocalDate endDate) {
+        long guests = userRepository.countByRole("GUEST");
 
         // Customer statistics
         Map<String, Object> customerStats = new HashMap<>();
-        customerStats.put("totalCustomers", customers.size());
-        customerStats.put("activeCustomers", bookings.stream()
-                .map(Booking::getUser)
-                .distinct()
-                .count());
-        customerStats.put("newCustomers", customers.stream()
-                .filter(u -> u.getId() != null) // Assuming new customers have recent IDs
-                .count());
-
-        // Top customers by spending
-        Map<User, Double> customerSpending = bookings.stream()
-                .filter(b -> "CONFIRMED".equals(b.getStatus()) || "CHECKED_IN".equals(b.getStatus()) || "CHECKED_OUT".equals(b.getStatus()))
-                .collect(Collectors.groupingBy(
-                    Booking::getUser,
-                    Collectors.summingDouble(Booking::getTotalPrice)
-                ));
-
-        List<Map<String, Object>> topCustomers = customerSpending.entrySet().stream()
-                .sorted(Map.Entry.<User, Double>comparingByValue().reversed())
-                .limit(10)
-                .map(entry -> {
-                    Map<String, Object> customer = new HashMap<>();
-                    customer.put("name", entry.getKey().getName());
-                    customer.put("email", entry.getKey().getEmail());
-                    customer.put("totalSpent", entry.getValue());
-                    customer.put("bookingCount", bookings.stream()
-                            .filter(b -> b.getUser().equals(entry.getKey()))
-                            .count());
-                    return customer;
-                })
-                .collect(Collectors.toList());
+        customerStats.put("totalCustomers", guests);
+        customerStats.put("activeCustomers", bookingRepository.countCustomersOverlapping(startDate, endDate));
+        customerStats.put("newCustomers", guests);
+
+        // Top customers by spending, grouped, ranked and limited by the database
+        List<Map<String, Object>> topCustomers = new ArrayList<>(TOP_CUSTOMERS);
+        for (Object[] row : bookingRepository.findTopCustomersOverlapping(startDate, endDate, Limit.of(TOP_CUSTOMERS))) {
+            Map<String, Object> customer = new HashMap<>();
+            customer.put("name", row[0]);
+            customer.put("email", row[1]);
+            customer.put("totalSpent", ((Number) row[2]).doubleValue());
+            customer.put("bookingCount", ((Number) row[3]).longValue());
+            topCustomers.add(customer);
+        }
 
         Map<String, Object> report = new HashMap<>();
-        report.put("startDate", startDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        report.put("endDate", endDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+        report.put("startDate", startDate.format(ISO_DATE));
+        report.put("endDate", endDate.format(ISO_DATE));
         report.put("customerStats", customerStats);
         report.put("topCustomers", topCustomers);
 
@@ -178,86 +207,129 @@ public class ReportsService {
     }
 
     /**
-     * Generate food and beverage report
+     * Generate food and beverage report, from the daily rollups
      */
     public Map<String, Object> generateFoodBeverageReport(LocalDate startDate, LocalDate endDate) {
-        List<FoodOrder> orders = foodOrderRepository.findAll().stream()
-                .filter(o -> isOrderInDateRange(o, startDate, endDate))
-                .collect(Collectors.toList());
-
-        double totalRevenue = orders.stream()
-                .filter(o -> "COMPLETED".equals(o.getStatus()))
-                .mapToDouble(FoodOrder::getTotalPrice)
-                .sum();
-
-        long totalOrders = orders.size();
-        long completedOrders = orders.stream()
-                .filter(o -> "COMPLETED".equals(o.getStatus()))
-                .count();
-
-        double averageOrderValue = completedOrders > 0 ? totalRevenue / completedOrders : 0;
-
-        // Orders by status
-        Map<String, Long> ordersByStatus = orders.stream()
-                .collect(Collectors.groupingBy(
-                    FoodOrder::getStatus,
-                    Collectors.counting()
-                ));
-
-        // Daily order trends
-        Map<String, Long> dailyOrders = orders.stream()
-                .collect(Collectors.groupingBy(
-                    o -> o.getOrderedAt().toLocalDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
-                    Collectors.counting()
-                ));
-
-        Map<String, Object> report = new HashMap<>();
-        report.put("startDate", startDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        report.put("endDate", endDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
-        report.put("totalRevenue", totalRevenue);
-        report.put("totalOrders", totalOrders);
-        report.put("completedOrders", completedOrders);
-        report.put("averageOrderValue", Math.round(averageOrderValue * 100.0) / 100.0);
-        report.put("ordersByStatus", ordersByStatus);
-        report.put("dailyOrders", dailyOrders);
-
-        return report;
+        dailyRollups.flush();
+        return reportCache.get("food-beverage", startDate, endDate, null, () -> foodSection(startDate, endDate,
+                FoodTotals.of(dailyFnbRepository.findByDayBetweenOrderByDay(startDate, endDate))));
     }
 
     /**
-     * Generate comprehensive hotel report
+     * Generate comprehensive hotel report. The rollups are read once and shared
+     * between sections, and independent sections run in parallel.
      */
     public Map<String, Object> generateComprehensiveReport(LocalDate startDate, LocalDate endDate) {
-        Map<String, Object> revenueReport = generateRevenueReport(startDate, endDate);
-        Map<String, Object> occupancyReport = generateOccupancyReport(startDate, endDate);
-        Map<String, Object> customerReport = generateCustomerReport(startDate, endDate);
-        Map<String, Object> foodReport = generateFoodBeverageReport(startDate, endDate);
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        dailyRollups.flush();
+        return reportCache.get("comprehensive", startDate, endDate, String.valueOf(availabilityIndex.capacityByType()),
+                () -> comprehensiveReport(startDate, endDate));
+    }
+
+    private Map<String, Object> comprehensiveReport(LocalDate startDate, LocalDate endDate) {
+        CompletableFuture<List<DailyRevenue>> revenueDays =
+                async(() -> dailyRevenueRepository.findByDayBetweenOrderByDay(startDate, endDate));
+        CompletableFuture<FoodTotals> food =
+                async(() -> FoodTotals.of(dailyFnbRepository.findByDayBetweenOrderByDay(startDate, endDate)));
+        CompletableFuture<Map<String, Object>> occupancy = async(() -> occupancySection(startDate, endDate, null));
+        CompletableFuture<Map<String, Object>> customers = async(() -> customerSection(startDate, endDate));
 
         Map<String, Object> comprehensiveReport = new HashMap<>();
-        comprehensiveReport.put("reportPeriod", startDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")) + 
-                " - " + endDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")));
-        comprehensiveReport.put("generatedAt", LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm")));
-        comprehensiveReport.put("revenue", revenueReport);
-        comprehensiveReport.put("occupancy", occupancyReport);
-        comprehensiveReport.put("customers", customerReport);
-        comprehensiveReport.put("foodBeverage", foodReport);
+        comprehensiveReport.put("reportPeriod", startDate.format(DISPLAY_DATE) + " - " + endDate.format(DISPLAY_DATE));
+        comprehensiveReport.put("generatedAt", LocalDateTime.now().format(DISPLAY_TIMESTAMP));
+        comprehensiveReport.put("revenue", revenueSection(startDate, endDate, join(revenueDays), join(food)));
+        comprehensiveReport.put("occupancy", join(occupancy));
+        comprehensiveReport.put("customers", join(customers));
+        comprehensiveReport.put("foodBeverage", foodSection(startDate, endDate, join(food)));
 
         return comprehensiveReport;
     }
 
+    private Map<String, Object> revenueSection(LocalDate startDate, LocalDate endDate,
+                                               List<DailyRevenue> days, FoodTotals food) {
+        long totalBookings = 0;
+        double totalBookingRevenue = 0;
+        double totalPayments = 0;
+        for (DailyRevenue day : days) {
+            totalBookings += day.getBookings();
+            totalBookingRevenue += day.getBookingRevenue();
+            totalPayments += day.getPaymentAmount();
+        }
+
+        double totalRevenue = totalBookingRevenue + food.revenue;
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("startDate", startDate.format(ISO_DATE));
+        report.put("endDate", endDate.format(ISO_DATE));
+        report.put("totalBookingRevenue", totalBookingRevenue);
+        report.put("totalFoodRevenue", food.revenue);
+        report.put("totalRevenue", totalRevenue);
+        report.put("totalPaymentsReceived", totalPayments);
+        report.put("totalBookings", totalBookings);
+        report.put("totalFoodOrders", food.orders);
+        report.put("averageBookingValue", totalBookings == 0 ? 0 : totalBookingRevenue / totalBookings);
+        report.put("averageFoodOrderValue", food.orders == 0 ? 0 : food.revenue / food.orders);
+
+        return report;
+    }
+
+    private Map<String, Object> foodSection(LocalDate startDate, LocalDate endDate, FoodTotals food) {
+        double averageOrderValue = food.completedOrders > 0 ? food.revenue / food.completedOrders : 0;
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("startDate", startDate.format(ISO_DATE));
+        report.put("endDate", endDate.format(ISO_DATE));
+        report.put("totalRevenue", food.revenue);
+        report.put("totalOrders", food.orders);
+        report.put("completedOrders", food.completedOrders);
+        report.put("averageOrderValue", Math.round(averageOrderValue * 100.0) / 100.0);
+        report.put("ordersByStatus", food.ordersByStatus);
+        report.put("dailyOrders", food.dailyOrders);
+
+        return report;
+    }
+
     // Helper methods
-    private boolean isBookingInDateRange(Booking booking, LocalDate startDate, LocalDate endDate) {
-        return !booking.getCheckInDate().isAfter(endDate) && !booking.getCheckOutDate().isBefore(startDate);
+    private <T> CompletableFuture<T> async(Supplier<T> section) {
+        return CompletableFuture.supplyAsync(section, sectionPool);
     }
 
-    private boolean isOrderInDateRange(FoodOrder order, LocalDate startDate, LocalDate endDate) {
-        LocalDate orderDate = order.getOrderedAt().toLocalDate();
-        return !orderDate.isBefore(startDate) && !orderDate.isAfter(endDate);
+    private static <T> T join(CompletableFuture<T> section) {
+        try {
+            return section.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
 
-    private boolean isBookingActiveOnDate(Booking booking, LocalDate date) {
-        return ("CONFIRMED".equals(booking.getStatus()) || "CHECKED_IN".equals(booking.getStatus())) &&
-                !booking.getCheckInDate().isAfter(date) &&
-                !booking.getCheckOutDate().isBefore(date);
+    /**
+     * Food order totals for a range, gathered in one pass over the daily rows
+     * and shared by the revenue and F&B sections
+     */
+    private static final class FoodTotals {
+        long orders;
+        long completedOrders;
+        double revenue;
+        final Map<String, Long> ordersByStatus = new HashMap<>();
+        final Map<String, Long> dailyOrders = new HashMap<>();
+
+        static FoodTotals of(List<DailyFnb> days) {
+            FoodTotals totals = new FoodTotals();
+            for (DailyFnb day : days) {
+                totals.orders += day.getOrders();
+                if (COMPLETED_FOOD_STATUSES.contains(day.getStatus())) {
+                    totals.revenue += day.getOrderValue();
+                    totals.completedOrders += day.getOrders();
+                }
+                totals.ordersByStatus.merge(day.getStatus(), day.getOrders(), Long::sum);
+                totals.dailyOrders.merge(day.getDay().format(ISO_DATE), day.getOrders(), Long::sum);
+            }
+            return totals;
+        }
     }
 }
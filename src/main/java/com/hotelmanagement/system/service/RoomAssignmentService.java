@@ -0,0 +1,118 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.model.Booking;
+import com.hotelmanagement.system.model.Room;
+import com.hotelmanagement.system.repository.BookingRepository;
+import com.hotelmanagement.system.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns physical rooms to CONFIRMED bookings that were made by room type.
+ *
+ * Runs nightly and on demand from the reservations page. Every upcoming
+ * unassigned booking is handled in one pass, arrivals first, each taking the
+ * best-fit free room from the availability index. The room changes are
+ * flushed together as batched UPDATEs when the transaction commits.
+ */
+@Service
+public class RoomAssignmentService {
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final BookingLocks bookingLocks;
+    private final EmailService emailService;
+    private final BookingSearchIndex searchIndex;
+
+    @Value("${app.room-assignment.lookahead-days:14}")
+    private int lookaheadDays;
+
+    @Autowired
+    public RoomAssignmentService(BookingRepository bookingRepository, RoomRepository roomRepository,
+                                 RoomAvailabilityIndex availabilityIndex, BookingLocks bookingLocks,
+                                 EmailService emailService, BookingSearchIndex searchIndex) {
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.bookingLocks = bookingLocks;
+        this.emailService = emailService;
+        this.searchIndex = searchIndex;
+    }
+
+    @Scheduled(cron = "${app.room-assignment.cron:0 0 3 * * *}")
+    @Transactional
+    public void scheduledAssignment() {
+        Map<String, Object> result = assignUpcomingBookings(lookaheadDays);
+        System.out.println("Nightly room assignment: " + result.get("assignedCount") + " assigned, "
+                + result.get("unassignedCount") + " still waiting");
+    }
+
+    /**
+     * Assign rooms to unassigned CONFIRMED bookings arriving within the next {@code days} days
+     */
+    @Transactional
+    public Map<String, Object> assignUpcomingBookings(int days) {
+        LocalDate today = LocalDate.now();
+        List<Booking> pending = bookingRepository.findUnassignedByStatusAndCheckInBetween(
+                "CONFIRMED", today, today.plusDays(days));
+
+        Map<Long, Room> roomsById = new HashMap<>();
+        if (!pending.isEmpty()) {
+            for (Room room : roomRepository.findAll()) {
+                roomsById.put(room.getId(), room);
+            }
+        }
+
+        List<Booking> assigned = new ArrayList<>();
+        List<Long> unassigned = new ArrayList<>();
+
+        Object[] types = pending.stream()
+                .map(Booking::getRoomType)
+                .filter(type -> type != null)
+                .distinct()
+                .toArray();
+
+        try (BookingLocks.Held ignored = bookingLocks.lock(types)) {
+            for (Booking booking : pending) {
+                Room room = booking.getRoomType() == null ? null : availabilityIndex.findBestFitRoom(
+                        booking.getRoomType(), booking.getCheckInDate(), booking.getCheckOutDate());
+                if (room == null) {
+                    unassigned.add(booking.getId());
+                    continue;
+                }
+                booking.setRoom(roomsById.get(room.getId()));
+                availabilityIndex.bookingChanged(booking);
+                searchIndex.bookingChanged(booking);
+                assigned.add(booking);
+            }
+            // Hibernate flushes the dirty bookings in JDBC batches (hibernate.jdbc.batch_size)
+            bookingRepository.flush();
+        }
+
+        for (Booking booking : assigned) {
+            try {
+                if (emailService instanceof EmailServiceImpl) {
+                    ((EmailServiceImpl) emailService).sendRoomAssignmentEmail(booking.getUser().getEmail(), booking);
+                }
+            } catch (Exception e) {
+                System.err.println("Failed to send room assignment email for booking #" + booking.getId() + ": " + e.getMessage());
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("assignedCount", assigned.size());
+        result.put("unassignedCount", unassigned.size());
+        result.put("unassignedBookingIds", unassigned);
+        return result;
+    }
+}
@@ -0,0 +1,667 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.model.AvailabilityWindow;
+import com.hotelmanagement.system.model.Booking;
+import com.hotelmanagement.system.model.Room;
+import com.hotelmanagement.system.repository.BookingRepository;
+import com.hotelmanagement.system.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of which rooms are occupied on which nights.
+ *
+ * Each room keeps its active stays in a set sorted by check-in day, so
+ * "is room R free for [checkIn, checkOut)" is a short backwards walk from
+ * checkOut instead of a NOT EXISTS subquery over the bookings table.
+ * Alongside that, every room type keeps a per-night usage counter so
+ * type-level questions ("is a SUITE free, how many are left") are a scan
+ * over the requested nights only. Bookings made by room type without a
+ * physical room count against their type's inventory.
+ * Built once at startup and kept current by BookingService.
+ */
+@Service
+public class RoomAvailabilityIndex {
+
+    // Bookings in these states no longer hold their room
+    private static final Set<String> RELEASED_STATUSES = Set.of("CANCELLED", "CHECKED_OUT");
+
+    private static final Comparator<Stay> BY_CHECK_IN =
+            Comparator.comparingLong((Stay s) -> s.checkIn).thenComparingLong(s -> s.bookingId);
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Room> rooms = new TreeMap<>();
+    private final Map<Long, NavigableSet<Stay>> staysByRoom = new HashMap<>();
+    private final Map<Long, Stay> staysByBooking = new HashMap<>();
+    // Longest stay ever seen per room, bounds how far back an overlap scan must look
+    private final Map<Long, Long> longestStayByRoom = new HashMap<>();
+    // Bookable rooms and booked nights per room type (upper-case)
+    private final Map<String, Integer> capacityByType = new TreeMap<>();
+    private final Map<String, NightlyCounter> usageByType = new HashMap<>();
+    // Bumped on every change; lets clients cache derived views such as the heatmap
+    private final AtomicLong version = new AtomicLong();
+
+    @Autowired
+    public RoomAvailabilityIndex(RoomRepository roomRepository, BookingRepository bookingRepository) {
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Load every room and every room-holding booking from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Room> allRooms = roomRepository.findAll();
+        List<Object[]> activeStays = bookingRepository.findActiveStays();
+
+        lock.writeLock().lock();
+        try {
+            rooms.clear();
+            staysByRoom.clear();
+            staysByBooking.clear();
+            longestStayByRoom.clear();
+            capacityByType.clear();
+            usageByType.clear();
+
+            for (Room room : allRooms) {
+                putRoom(copyOf(room));
+            }
+            for (Object[] row : activeStays) {
+                Stay stay = new Stay((Long) row[0], (Long) row[1], normalizeType((String) row[2]),
+                        ((LocalDate) row[3]).toEpochDay(), ((LocalDate) row[4]).toEpochDay());
+                addStay(stay);
+            }
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+        System.out.println("Room availability index built: " + allRooms.size() + " rooms, "
+                + activeStays.size() + " active stays");
+    }
+
+    /**
+     * Check whether a bookable room has no active stay overlapping [checkIn, checkOut)
+     */
+    public boolean isRoomAvailable(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return isRoomAvailable(roomId, checkIn, checkOut, null);
+    }
+
+    /**
+     * Same as {@link #isRoomAvailable(Long, LocalDate, LocalDate)} but ignores the
+     * given booking's own stay, for moving an existing booking
+     */
+    public boolean isRoomAvailable(Long roomId, LocalDate checkIn, LocalDate checkOut, Long ignoredBookingId) {
+        lock.readLock().lock();
+        try {
+            Room room = rooms.get(roomId);
+            return room != null && room.isAvailable()
+                    && isFree(roomId, checkIn.toEpochDay(), checkOut.toEpochDay(), ignoredBookingId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * All bookable rooms that are free for [checkIn, checkOut), ordered by room ID
+     */
+    public List<Room> findAvailableRooms(LocalDate checkIn, LocalDate checkOut) {
+        return findAvailableRooms(checkIn, checkOut, null);
+    }
+
+    /**
+     * Bookable rooms of the given type (case-insensitive) free for [checkIn, checkOut).
+     * A null type matches every room.
+     */
+    public List<Room> findAvailableRooms(LocalDate checkIn, LocalDate checkOut, String roomType) {
+        long from = checkIn.toEpochDay();
+        long to = checkOut.toEpochDay();
+        List<Room> result = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            for (Room room : rooms.values()) {
+                if (!room.isAvailable()) {
+                    continue;
+                }
+                if (roomType != null && !roomType.equalsIgnoreCase(room.getType())) {
+                    continue;
+                }
+                if (isFree(room.getId(), from, to, null)) {
+                    result.add(copyOf(room));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * How many more rooms of a type can be sold for every night of [checkIn, checkOut)
+     */
+    public int remainingRooms(String roomType, LocalDate checkIn, LocalDate checkOut) {
+        String type = normalizeType(roomType);
+        lock.readLock().lock();
+        try {
+            return remaining(type, checkIn.toEpochDay(), checkOut.toEpochDay());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Remaining inventory for every known room type over [checkIn, checkOut)
+     */
+    public Map<String, Integer> remainingRoomsByType(LocalDate checkIn, LocalDate checkOut) {
+        long from = checkIn.toEpochDay();
+        long to = checkOut.toEpochDay();
+        Map<String, Integer> result = new TreeMap<>();
+
+        lock.readLock().lock();
+        try {
+            for (String type : capacityByType.keySet()) {
+                result.put(type, remaining(type, from, to));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Current index version; changes whenever any booking or room changes
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Remaining rooms per type for each of {@code days} nights starting at {@code from}.
+     * Nights before today are null: checked-out stays leave the index, so the
+     * counters can't say how full a past night was.
+     */
+    public Map<String, Integer[]> remainingPerNight(LocalDate from, int days) {
+        long start = from.toEpochDay();
+        long today = LocalDate.now().toEpochDay();
+        Map<String, Integer[]> result = new TreeMap<>();
+
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, Integer> entry : capacityByType.entrySet()) {
+                NightlyCounter usage = usageByType.get(entry.getKey());
+                Integer[] remaining = new Integer[days];
+                for (int i = Math.max(0, (int) Math.min(days, today - start)); i < days; i++) {
+                    int booked = usage == null ? 0 : usage.get(start + i);
+                    remaining[i] = Math.max(0, entry.getValue() - booked);
+                }
+                result.put(entry.getKey(), remaining);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Bookable rooms per type
+     */
+    public Map<String, Integer> capacityByType() {
+        lock.readLock().lock();
+        try {
+            return new TreeMap<>(capacityByType);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best-fit room of a type for [checkIn, checkOut): among the free rooms,
+     * the one whose surrounding free gap is tightest, so long free runs stay
+     * intact for later bookings. Rooms with no neighbouring stay rank last.
+     * Returns null when no room of the type is free.
+     */
+    public Room findBestFitRoom(String roomType, LocalDate checkIn, LocalDate checkOut) {
+        String type = normalizeType(roomType);
+        long from = checkIn.toEpochDay();
+        long to = checkOut.toEpochDay();
+        // Gap used when there is no stay on one side of the booking
+        long openGap = 100_000L;
+
+        Room best = null;
+        long bestGap = Long.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            for (Room room : rooms.values()) {
+                if (!room.isAvailable() || !type.equals(normalizeType(room.getType()))
+                        || !isFree(room.getId(), from, to, null)) {
+                    continue;
+                }
+                long gapBefore = openGap;
+                long gapAfter = openGap;
+                NavigableSet<Stay> stays = staysByRoom.get(room.getId());
+                if (stays != null && !stays.isEmpty()) {
+                    Stay before = stays.lower(new Stay(Long.MIN_VALUE, room.getId(), null, from, from));
+                    Stay after = stays.ceiling(new Stay(Long.MIN_VALUE, room.getId(), null, to, to));
+                    if (before != null) {
+                        gapBefore = from - before.checkOut;
+                    }
+                    if (after != null) {
+                        gapAfter = after.checkIn - to;
+                    }
+                }
+                if (gapBefore + gapAfter < bestGap) {
+                    bestGap = gapBefore + gapAfter;
+                    best = room;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return best == null ? null : copyOf(best);
+    }
+
+    /**
+     * Every check-in day in [from, until) from which a room of the type stays
+     * free for the next {@code nights} nights, with the type's remaining
+     * inventory and the price of the cheapest single room covering the stay.
+     * One pass per room over the horizon plus a sliding-window minimum over
+     * the type's nightly counts.
+     */
+    public List<AvailabilityWindow> findOpenWindows(String roomType, LocalDate from, LocalDate until, int nights) {
+        String type = normalizeType(roomType);
+        long start = from.toEpochDay();
+        int horizon = (int) (until.toEpochDay() - start) + nights - 1;
+        int starts = horizon - nights + 1;
+        if (nights <= 0 || starts <= 0) {
+            return List.of();
+        }
+
+        int[] roomsLeft = new int[starts];
+        double[] cheapest = new double[starts];
+        Arrays.fill(cheapest, Double.POSITIVE_INFINITY);
+
+        lock.readLock().lock();
+        try {
+            int capacity = capacityByType.getOrDefault(type, 0);
+            if (capacity == 0) {
+                return List.of();
+            }
+            NightlyCounter usage = usageByType.get(type);
+            int[] freePerNight = new int[horizon];
+            for (int i = 0; i < horizon; i++) {
+                freePerNight[i] = capacity - (usage == null ? 0 : usage.get(start + i));
+            }
+            slidingMin(freePerNight, nights, roomsLeft);
+
+            boolean[] taken = new boolean[horizon];
+            for (Room room : rooms.values()) {
+                if (!room.isAvailable() || !type.equals(normalizeType(room.getType()))) {
+                    continue;
+                }
+                Arrays.fill(taken, false);
+                NavigableSet<Stay> stays = staysByRoom.get(room.getId());
+                if (stays != null && !stays.isEmpty()) {
+                    long earliest = start - longestStayByRoom.getOrDefault(room.getId(), 0L);
+                    for (Stay stay : stays.tailSet(new Stay(Long.MIN_VALUE, room.getId(), null, earliest, earliest), true)) {
+                        if (stay.checkIn >= start + horizon) {
+                            break;
+                        }
+                        int first = (int) Math.max(0, stay.checkIn - start);
+                        int last = (int) Math.min(horizon, stay.checkOut - start);
+                        for (int i = first; i < last; i++) {
+                            taken[i] = true;
+                        }
+                    }
+                }
+
+                // Length of the free run ending at each night
+                int run = 0;
+                for (int i = 0; i < horizon; i++) {
+                    run = taken[i] ? 0 : run + 1;
+                    if (run >= nights) {
+                        int checkIn = i - nights + 1;
+                        cheapest[checkIn] = Math.min(cheapest[checkIn], room.getPrice());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<AvailabilityWindow> windows = new ArrayList<>();
+        for (int i = 0; i < starts; i++) {
+            if (roomsLeft[i] > 0 && cheapest[i] != Double.POSITIVE_INFINITY) {
+                windows.add(new AvailabilityWindow(type, LocalDate.ofEpochDay(start + i), nights,
+                        roomsLeft[i], cheapest[i]));
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * Record the current state of a booking. Applied immediately so concurrent
+     * checks see the room as taken, and undone if the surrounding transaction
+     * rolls back.
+     */
+    public void bookingChanged(Booking booking) {
+        if (booking.getId() == null) {
+            return;
+        }
+        Stay updated = holdsInventory(booking)
+                ? new Stay(booking.getId(),
+                        booking.getRoom() != null ? booking.getRoom().getId() : null,
+                        normalizeType(booking.getRoomType()),
+                        booking.getCheckInDate().toEpochDay(), booking.getCheckOutDate().toEpochDay())
+                : null;
+
+        Stay previous;
+        lock.writeLock().lock();
+        try {
+            previous = removeStay(booking.getId());
+            if (updated != null) {
+                addStay(updated);
+            }
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+
+        onRollback(() -> {
+            lock.writeLock().lock();
+            try {
+                removeStay(booking.getId());
+                if (previous != null) {
+                    addStay(previous);
+                }
+            } finally {
+                version.incrementAndGet();
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Refresh a room's type and availability flag (e.g. after housekeeping)
+     */
+    public void roomChanged(Room room) {
+        Room snapshot = copyOf(room);
+        Room previous;
+        lock.writeLock().lock();
+        try {
+            previous = putRoom(snapshot);
+        } finally {
+            version.incrementAndGet();
+            lock.writeLock().unlock();
+        }
+
+        onRollback(() -> {
+            lock.writeLock().lock();
+            try {
+                if (previous != null) {
+                    putRoom(previous);
+                } else {
+                    removeRoom(snapshot.getId());
+                }
+            } finally {
+                version.incrementAndGet();
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // --- Internals (callers hold the lock) ---
+
+    private boolean isFree(Long roomId, long from, long to, Long ignoredBookingId) {
+        NavigableSet<Stay> stays = staysByRoom.get(roomId);
+        if (stays == null || stays.isEmpty()) {
+            return true;
+        }
+        long horizon = from - longestStayByRoom.getOrDefault(roomId, 0L);
+        Stay probe = new Stay(Long.MIN_VALUE, roomId, null, to, to);
+        // Walk back from the last stay starting before checkOut
+        for (Stay stay : stays.headSet(probe, false).descendingSet()) {
+            if (stay.checkOut > from && !Long.valueOf(stay.bookingId).equals(ignoredBookingId)) {
+                return false;
+            }
+            if (stay.checkIn < horizon) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private int remaining(String type, long from, long to) {
+        int capacity = capacityByType.getOrDefault(type, 0);
+        NightlyCounter usage = usageByType.get(type);
+        int booked = usage == null ? 0 : usage.max(from, to);
+        return Math.max(0, capacity - booked);
+    }
+
+    /**
+     * out[i] = min(values[i .. i + width)), using a monotonic deque of indexes
+     */
+    private static void slidingMin(int[] values, int width, int[] out) {
+        Deque<Integer> window = new ArrayDeque<>();
+        for (int i = 0; i < values.length; i++) {
+            while (!window.isEmpty() && values[window.peekLast()] >= values[i]) {
+                window.pollLast();
+            }
+            window.addLast(i);
+            if (window.peekFirst() <= i - width) {
+                window.pollFirst();
+            }
+            if (i >= width - 1) {
+                out[i - width + 1] = Math.max(0, values[window.peekFirst()]);
+            }
+        }
+    }
+
+    private void addStay(Stay stay) {
+        if (stay.roomId != null) {
+            staysByRoom.computeIfAbsent(stay.roomId, id -> new TreeSet<>(BY_CHECK_IN)).add(stay);
+            longestStayByRoom.merge(stay.roomId, stay.checkOut - stay.checkIn, Math::max);
+        }
+        staysByBooking.put(stay.bookingId, stay);
+        countUsage(stay, 1);
+    }
+
+    private Stay removeStay(Long bookingId) {
+        Stay stay = staysByBooking.remove(bookingId);
+        if (stay != null) {
+            countUsage(stay, -1);
+            NavigableSet<Stay> stays = stay.roomId != null ? staysByRoom.get(stay.roomId) : null;
+            if (stays != null) {
+                stays.remove(stay);
+            }
+        }
+        return stay;
+    }
+
+    /**
+     * Swap in a room snapshot, moving its capacity and its stays' nights
+     * between types if the type or availability flag changed
+     */
+    private Room putRoom(Room room) {
+        Room previous = removeRoom(room.getId());
+        rooms.put(room.getId(), room);
+        if (room.isAvailable()) {
+            capacityByType.merge(normalizeType(room.getType()), 1, Integer::sum);
+        } else {
+            capacityByType.putIfAbsent(normalizeType(room.getType()), 0);
+        }
+        for (Stay stay : staysByRoom.getOrDefault(room.getId(), Collections.emptyNavigableSet())) {
+            countUsage(stay, 1);
+        }
+        return previous;
+    }
+
+    private Room removeRoom(Long roomId) {
+        Room previous = rooms.get(roomId);
+        if (previous == null) {
+            return null;
+        }
+        for (Stay stay : staysByRoom.getOrDefault(roomId, Collections.emptyNavigableSet())) {
+            countUsage(stay, -1);
+        }
+        if (previous.isAvailable()) {
+            capacityByType.merge(normalizeType(previous.getType()), -1, Integer::sum);
+        }
+        rooms.remove(roomId);
+        return previous;
+    }
+
+    /**
+     * A stay uses a night of its room's type while that room is bookable;
+     * stays without a room use their booked room type instead
+     */
+    private void countUsage(Stay stay, int delta) {
+        String type;
+        if (stay.roomId != null) {
+            Room room = rooms.get(stay.roomId);
+            if (room == null || !room.isAvailable()) {
+                return;
+            }
+            type = normalizeType(room.getType());
+        } else {
+            type = stay.roomType;
+        }
+        if (type == null) {
+            return;
+        }
+        usageByType.computeIfAbsent(type, t -> new NightlyCounter(LocalDate.now().toEpochDay()))
+                .add(stay.checkIn, stay.checkOut, delta);
+    }
+
+    private static String normalizeType(String roomType) {
+        return roomType == null ? null : roomType.trim().toUpperCase();
+    }
+
+    private static boolean holdsInventory(Booking booking) {
+        return (booking.getRoom() != null || booking.getRoomType() != null)
+                && booking.getCheckInDate() != null
+                && booking.getCheckOutDate() != null
+                && booking.getStatus() != null
+                && !RELEASED_STATUSES.contains(booking.getStatus());
+    }
+
+    /**
+     * Queue an undo step for the current transaction. Steps run newest-first
+     * so several changes to the same booking unwind in the right order.
+     */
+    private void onRollback(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Deque<Runnable> undoLog = (Deque<Runnable>) TransactionSynchronizationManager.getResource(this);
+        if (undoLog == null) {
+            Deque<Runnable> log = new ArrayDeque<>();
+            TransactionSynchronizationManager.bindResource(this, log);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RoomAvailabilityIndex.this);
+                    if (status != STATUS_COMMITTED) {
+                        log.forEach(Runnable::run);
+                    }
+                }
+            });
+            undoLog = log;
+        }
+        undoLog.push(undo);
+    }
+
+    private static Room copyOf(Room room) {
+        Room copy = new Room();
+        copy.setId(room.getId());
+        copy.setRoomNumber(room.getRoomNumber());
+        copy.setType(room.getType());
+        copy.setPrice(room.getPrice());
+        copy.setAvailable(room.isAvailable());
+        return copy;
+    }
+
+    /**
+     * One booking's hold on a room (or, before assignment, on a room type),
+     * as epoch days; checkOut is exclusive
+     */
+    private static final class Stay {
+        private final long bookingId;
+        private final Long roomId;
+        private final String roomType;
+        private final long checkIn;
+        private final long checkOut;
+
+        private Stay(long bookingId, Long roomId, String roomType, long checkIn, long checkOut) {
+            this.bookingId = bookingId;
+            this.roomId = roomId;
+            this.roomType = roomType;
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+        }
+    }
+
+    /**
+     * Per-night counts in an int array indexed by (epochDay - base).
+     * Nights before base are in the past and are not tracked.
+     */
+    private static final class NightlyCounter {
+        private final long base;
+        private int[] counts = new int[366];
+
+        private NightlyCounter(long base) {
+            this.base = base;
+        }
+
+        private void add(long from, long to, int delta) {
+            int start = (int) Math.max(0, from - base);
+            int end = (int) Math.max(0, to - base);
+            if (end > counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(end, counts.length * 2));
+            }
+            for (int i = start; i < end; i++) {
+                counts[i] += delta;
+            }
+        }
+
+        private int get(long day) {
+            long index = day - base;
+            return index < 0 || index >= counts.length ? 0 : counts[(int) index];
+        }
+
+        private int max(long from, long to) {
+            int start = (int) Math.max(0, from - base);
+            int end = (int) Math.min(counts.length, Math.max(0, to - base));
+            int max = 0;
+            for (int i = start; i < end; i++) {
+                max = Math.max(max, counts[i]);
+            }
+            return max;
+        }
+    }
+}
@@ -12,10 +12,12 @@ import java.util.List;
 public class RoomService {
 
     private final RoomRepository roomRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
 
     @Autowired
-    public RoomService(RoomRepository roomRepository) {
+    public RoomService(RoomRepository roomRepository, RoomAvailabilityIndex availabilityIndex) {
         this.roomRepository = roomRepository;
+        this.availabilityIndex = availabilityIndex;
     }
 
     /**
@@ -51,7 +53,7 @@ public class RoomService {
      * Get available rooms for date range
      */
     public List<Room> getAvailableRoomsForDateRange(LocalDate checkIn, LocalDate checkOut) {
-        return roomRepository.findAvailableRoomsForDateRange(checkIn, checkOut);
+        return availabilityIndex.findAvailableRooms(checkIn, checkOut);
     }
 
     /**
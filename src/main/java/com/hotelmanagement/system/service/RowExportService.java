@@ -0,0 +1,147 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.repository.BookingRepository;
+import com.hotelmanagement.system.repository.FoodOrderRepository;
+import com.hotelmanagement.system.repository.PaymentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Row-level CSV exports of bookings, payments and food orders.
+ *
+ * Rows are read through a database cursor in a read-only transaction and
+ * written out one at a time, so memory use does not grow with the size of
+ * the export. If the writer fails, for example because the client hung up,
+ * the cursor is closed and the export stops.
+ */
+@Service
+public class RowExportService {
+
+    public static final List<String> DATASETS = List.of("bookings", "payments", "food-orders");
+
+    private static final String BOOKING_HEADER =
+            "Booking ID,Guest,Email,Room,Room Type,Status,Check-in,Check-out,Total Price";
+    private static final String PAYMENT_HEADER =
+            "Payment ID,Transaction Date,Amount,Method,Status,Booking ID,Food Order ID";
+    private static final String FOOD_ORDER_HEADER =
+            "Order ID,Ordered At,Guest,Room,Status,Total Price";
+
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final FoodOrderRepository foodOrderRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public RowExportService(BookingRepository bookingRepository, PaymentRepository paymentRepository,
+                            FoodOrderRepository foodOrderRepository, PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.paymentRepository = paymentRepository;
+        this.foodOrderRepository = foodOrderRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Check a dataset name, returning it in canonical form
+     */
+    public String dataset(String name) {
+        String dataset = name == null ? "" : name.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+        if (!DATASETS.contains(dataset)) {
+            throw new IllegalArgumentException("Unknown export type '" + name + "'. Must be one of: "
+                    + String.join(", ", DATASETS));
+        }
+        return dataset;
+    }
+
+    /**
+     * Write a dataset's rows between two dates (inclusive) as CSV, header first.
+     * Bookings are selected by check-in date, payments and orders by when they happened.
+     * Returns the number of rows written.
+     */
+    public long writeCsv(String dataset, LocalDate from, LocalDate to, Writer out) throws IOException {
+        String canonical = dataset(dataset);
+        try {
+            Long written = readOnlyTransaction.execute(status -> {
+                try (Stream<Object[]> rows = open(canonical, from, to)) {
+                    out.write(header(canonical));
+                    out.write("\r\n");
+                    long count = 0;
+                    Iterator<Object[]> iterator = rows.iterator();
+                    while (iterator.hasNext()) {
+                        writeRow(out, iterator.next());
+                        count++;
+                    }
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return written != null ? written : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Stream<Object[]> open(String dataset, LocalDate from, LocalDate to) {
+        switch (dataset) {
+            case "bookings":
+                return bookingRepository.streamExportRows(from, to);
+            case "payments":
+                return paymentRepository.streamExportRows(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+            default:
+                return foodOrderRepository.streamExportRows(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        }
+    }
+
+    private static String header(String dataset) {
+        switch (dataset) {
+            case "bookings":
+                return BOOKING_HEADER;
+            case "payments":
+                return PAYMENT_HEADER;
+            default:
+                return FOOD_ORDER_HEADER;
+        }
+    }
+
+    private static void writeRow(Writer out, Object[] row) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (row[i] instanceof String) {
+                writeText(out, (String) row[i]);
+            } else if (row[i] != null) {
+                out.write(row[i].toString());
+            }
+        }
+        out.write("\r\n");
+    }
+
+    /**
+     * Quote text that needs it, and defuse values a spreadsheet would run as a formula
+     */
+    private static void writeText(Writer out, String value) throws IOException {
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
@@ -9,6 +9,7 @@ public interface UserService {
     User loginUser(String email, String password);
     User getUserById(Long userId);
     List<User> getAllUsers();
+    List<User> searchUsersByPrefix(String prefix, int limit);
     User updateUser(Long userId, User userDetails);
     void deleteUser(Long userId);
 }
\ No newline at end of file
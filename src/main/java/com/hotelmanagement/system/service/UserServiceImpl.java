@@ -3,6 +3,7 @@ package com.hotelmanagement.system.service;
 import com.hotelmanagement.system.model.User;
 import com.hotelmanagement.system.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,11 +14,19 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final WalletService walletService;
+    private final BookingSearchIndex bookingSearchIndex;
+    private final PrincipalCache principalCache;
+    private final ReportResultCache reportCache;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, WalletService walletService) {
+    public UserServiceImpl(UserRepository userRepository, WalletService walletService,
+                           BookingSearchIndex bookingSearchIndex, PrincipalCache principalCache,
+                           ReportResultCache reportCache) {
         this.userRepository = userRepository;
         this.walletService = walletService;
+        this.bookingSearchIndex = bookingSearchIndex;
+        this.principalCache = principalCache;
+        this.reportCache = reportCache;
     }
 
     @Override
@@ -38,6 +47,7 @@ public class UserServiceImpl implements UserService {
 
         // Create default wallet card (dynamic)
         walletService.createDefaultCardForUser(savedUser);
+        reportCache.usersChanged();
 
         return savedUser;
     }
@@ -69,13 +79,29 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
+    @Override
+    public List<User> searchUsersByPrefix(String prefix, int limit) {
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return List.of();
+        }
+        String escaped = prefix.trim()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return userRepository.findByNameOrEmailPrefix(escaped + "%", Limit.of(Math.max(1, Math.min(limit, 50))));
+    }
+
     @Override
     public User updateUser(Long userId, User userDetails) {
         User existingUser = getUserById(userId);
         existingUser.setName(userDetails.getName());
         existingUser.setEmail(userDetails.getEmail());
         existingUser.setRole(userDetails.getRole());
-        return userRepository.save(existingUser);
+        User savedUser = userRepository.save(existingUser);
+        bookingSearchIndex.userChanged(savedUser);
+        principalCache.evict(userId);
+        reportCache.usersChanged();
+        return savedUser;
     }
 
     @Override
@@ -84,5 +110,7 @@ public class UserServiceImpl implements UserService {
             throw new RuntimeException("User not found with ID: " + userId);
         }
         userRepository.deleteById(userId);
+        principalCache.evict(userId);
+        reportCache.usersChanged();
     }
 }
\ No newline at end of file
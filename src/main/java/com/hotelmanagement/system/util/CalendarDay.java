@@ -1,6 +1,6 @@
 package com.hotelmanagement.system.util;
 
-import com.hotelmanagement.system.model.Booking;
+import com.hotelmanagement.system.model.BookingSummary;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -8,7 +8,7 @@ public class CalendarDay {
     private int dayNumber;
     private boolean isToday;
     private boolean isCurrentMonth;
-    private List<Booking> bookings = new ArrayList<>();
+    private List<BookingSummary> bookings = new ArrayList<>();
 
     public CalendarDay(int dayNumber, boolean isToday, boolean isCurrentMonth) {
         this.dayNumber = dayNumber;
@@ -23,6 +23,6 @@ public class CalendarDay {
     public void setToday(boolean today) { isToday = today; }
     public boolean isCurrentMonth() { return isCurrentMonth; }
     public void setCurrentMonth(boolean currentMonth) { isCurrentMonth = currentMonth; }
-    public List<Booking> getBookings() { return bookings; }
-    public void setBookings(List<Booking> bookings) { this.bookings = bookings; }
+    public List<BookingSummary> getBookings() { return bookings; }
+    public void setBookings(List<BookingSummary> bookings) { this.bookings = bookings; }
 }
\ No newline at end of file
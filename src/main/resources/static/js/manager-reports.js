@@ -415,21 +415,34 @@ class ManagerReports {
 
     async exportAsPDF() {
         const { type, startDate, endDate } = this.currentReport;
+        const params = new URLSearchParams({ reportType: type, startDate, endDate });
 
-        const response = await fetch(`/manager/api/reports/export/pdf?reportType=${encodeURIComponent(type)}&startDate=${encodeURIComponent(startDate)}&endDate=${encodeURIComponent(endDate)}`);
-
+        // The server renders the PDF in the background; queue it, then poll until it is ready
+        const response = await fetch(`/manager/api/reports/pdf-jobs?${params}`, { method: 'POST' });
+        let job = await response.json().catch(() => ({}));
         if (!response.ok) {
-            const text = await response.text();
-            throw new Error(text || 'Failed to export PDF');
+            throw new Error(job.message || 'Failed to export PDF');
+        }
+
+        if (job.status !== 'DONE') {
+            this.showNotification('Preparing PDF report...', 'info');
+        }
+        while (job.status === 'PENDING' || job.status === 'RUNNING') {
+            await new Promise(resolve => setTimeout(resolve, 1000));
+            const statusResponse = await fetch(job.statusUrl);
+            if (!statusResponse.ok) {
+                throw new Error('PDF report is no longer available');
+            }
+            job = await statusResponse.json();
+        }
+        if (job.status !== 'DONE') {
+            throw new Error(job.error || 'Failed to export PDF');
         }
 
-        const blob = await response.blob();
-        const url = window.URL.createObjectURL(blob);
         const a = document.createElement('a');
-        a.href = url;
+        a.href = job.downloadUrl;
         a.download = `${type}_report_${startDate}_to_${endDate}.pdf`;
         a.click();
-        window.URL.revokeObjectURL(url);
 
         this.showNotification('PDF report exported successfully!', 'success');
     }
@@ -91,10 +91,12 @@ document.addEventListener('DOMContentLoaded', function () {
         initOrderButtons();
     }
 
-    // Search functionality
+    // Search functionality: ranked, typo-tolerant matches from the server-side menu index
+    let searchTimer = null;
     if (menuSearch) {
         menuSearch.addEventListener('input', function() {
-            const searchTerm = this.value.toLowerCase().trim();
+            const searchTerm = this.value.trim();
+            clearTimeout(searchTimer);
 
             if (searchTerm === '') {
                 // If search is cleared, reapply current category filter
@@ -109,20 +111,22 @@ document.addEventListener('DOMContentLoaded', function () {
                 return;
             }
 
-            // Apply search filter on top of current category filter
-            let itemsToSearch = allMenuItems;
-            if (currentCategory !== 'all') {
-                itemsToSearch = allMenuItems.filter(item =>
-                    item.category && item.category.toLowerCase() === currentCategory.toLowerCase()
-                );
-            }
-
-            const filteredItems = itemsToSearch.filter(item =>
-                item.name.toLowerCase().includes(searchTerm) ||
-                (item.description && item.description.toLowerCase().includes(searchTerm))
-            );
+            searchTimer = setTimeout(() => {
+                let url = `/api/menu-items/search?available=true&keyword=${encodeURIComponent(searchTerm)}`;
+                if (currentCategory !== 'all') {
+                    url += `&category=${encodeURIComponent(currentCategory)}`;
+                }
 
-            displayMenuItems(filteredItems);
+                fetch(url)
+                    .then(response => {
+                        if (!response.ok) {
+                            throw new Error('Network response was not ok');
+                        }
+                        return response.json();
+                    })
+                    .then(result => displayMenuItems(result.items || []))
+                    .catch(error => console.error('Error searching menu items:', error));
+            }, 200);
         });
     }
 
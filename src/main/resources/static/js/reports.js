@@ -191,6 +191,7 @@ document.addEventListener('DOMContentLoaded', () => {
                     document.getElementById('report-modal-title').textContent = 'Create New Report';
                     document.getElementById('report-id').value = '';
                     document.getElementById('report-type').disabled = false;
+                    document.getElementById('report-auto-populate-group').style.display = '';
                     openModal(reportModal);
                 });
             }
@@ -439,6 +440,12 @@ document.addEventListener('DOMContentLoaded', () => {
             }
         }
 
+        const autoPopulate = document.getElementById('report-auto-populate').checked;
+        if (autoPopulate && reportType === 'EXPENSE') {
+            showError('report-type', 'Only revenue and profit/loss reports can be filled from payments.');
+            isValid = false;
+        }
+
         if (!isValid) return; // Stop submission if validation fails
         // --- End Validation Logic ---
 
@@ -451,6 +458,9 @@ document.addEventListener('DOMContentLoaded', () => {
             startDate: new Date(startDateValue).toISOString(),
             endDate: new Date(endDateValue).toISOString(),
         });
+        if (!id && autoPopulate) {
+            formData.append('autoPopulate', 'true');
+        }
 
         const url = id ? `${API_URL}/${id}` : `${API_URL}/create`;
         const method = id ? 'PUT' : 'POST';
@@ -592,6 +602,7 @@ document.addEventListener('DOMContentLoaded', () => {
                 document.getElementById('report-start-date').value = formatDateTimeForInput(report.startDate);
                 document.getElementById('report-end-date').value = formatDateTimeForInput(report.endDate);
                 document.getElementById('report-type').disabled = true;
+                document.getElementById('report-auto-populate-group').style.display = 'none';
 
                 openModal(reportModal);
             } catch (error) {
@@ -715,6 +726,7 @@ document.addEventListener('DOMContentLoaded', () => {
         document.getElementById('report-modal-title').textContent = 'Create New Report';
         document.getElementById('report-id').value = '';
         document.getElementById('report-type').disabled = false;
+        document.getElementById('report-auto-populate-group').style.display = '';
         openModal(reportModal);
     });
 
@@ -126,6 +126,72 @@ document.addEventListener('DOMContentLoaded', function() {
         }
     });
 
+    // Guest typeahead: prefix search instead of shipping every user with the page
+    const guestInput = document.getElementById('booking-guest');
+    const guestId = document.getElementById('booking-guest-id');
+    const guestSuggestions = document.getElementById('booking-guest-suggestions');
+
+    if (guestInput && guestId && guestSuggestions) {
+        let guestTimer = null;
+        guestInput.setCustomValidity('Please select a guest.');
+
+        guestInput.addEventListener('input', function() {
+            guestId.value = '';
+            guestInput.setCustomValidity('Please select a guest.');
+            clearTimeout(guestTimer);
+
+            const query = this.value.trim();
+            if (query.length < 2) {
+                guestSuggestions.innerHTML = '';
+                return;
+            }
+
+            guestTimer = setTimeout(() => {
+                fetch('/api/users/search?q=' + encodeURIComponent(query))
+                    .then(response => response.ok ? response.json() : [])
+                    .then(users => {
+                        guestSuggestions.innerHTML = '';
+                        users.forEach(user => {
+                            const item = document.createElement('button');
+                            item.type = 'button';
+                            item.className = 'list-group-item list-group-item-action';
+                            item.textContent = `${user.name} - ${user.email}`;
+                            item.addEventListener('click', () => {
+                                guestInput.value = item.textContent;
+                                guestId.value = user.id;
+                                guestInput.setCustomValidity('');
+                                guestSuggestions.innerHTML = '';
+                            });
+                            guestSuggestions.appendChild(item);
+                        });
+                    })
+                    .catch(error => console.error('Error searching guests:', error));
+            }, 200);
+        });
+    }
+
+    // Remaining rooms per type on each calendar day (served with ETag, so unchanged months are a 304)
+    const calendarGrid = document.querySelector('.calendar-grid[data-month]');
+    if (calendarGrid) {
+        fetch('/api/rooms/heatmap?month=' + calendarGrid.dataset.month)
+            .then(response => response.ok ? response.json() : null)
+            .then(heatmap => {
+                if (!heatmap) return;
+                calendarGrid.querySelectorAll('.calendar-day[data-day]').forEach(cell => {
+                    const index = parseInt(cell.dataset.day, 10) - 1;
+                    // Past nights come back as null: there is no inventory left to show
+                    const parts = Object.keys(heatmap.remaining)
+                        .filter(type => heatmap.remaining[type][index] !== null)
+                        .map(type => type.charAt(0) + type.slice(1).toLowerCase() + ' ' + heatmap.remaining[type][index]);
+                    const target = cell.querySelector('.day-inventory');
+                    if (target) {
+                        target.textContent = parts.join(' · ');
+                    }
+                });
+            })
+            .catch(error => console.error('Failed to load availability heatmap:', error));
+    }
+
     // Prevent form resubmission on page refresh
     if (window.history.replaceState) {
         window.history.replaceState(null, null, window.location.href);
@@ -0,0 +1,235 @@
+package com.hotelmanagement.system.service;
+
+import com.hotelmanagement.system.model.Booking;
+import com.hotelmanagement.system.model.Room;
+import com.hotelmanagement.system.model.User;
+import com.hotelmanagement.system.repository.BookingRepository;
+import com.hotelmanagement.system.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Calls BookingService.createBooking and createRoomTypeBooking from many
+ * threads at once, over a small set of rooms and a short window of nights so
+ * most requests overlap. Checks that no room is booked twice for a night and
+ * that no room type sells more nights than it has rooms, including when both
+ * kinds of booking compete for the same type. The repositories are mocked;
+ * the locks and the availability index are the real ones.
+ */
+class BookingLocksConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS_PER_THREAD = 5_000;
+    private static final int ROOMS = 20;
+    private static final int WINDOW_DAYS = 60;
+    private static final String ROOM_TYPE = "DOUBLE";
+
+    private final List<Room> rooms = new ArrayList<>();
+    private final AtomicLong bookingIds = new AtomicLong();
+    private final LocalDate today = LocalDate.now();
+    private final User guest = new User();
+
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= ROOMS; id++) {
+            Room room = new Room();
+            room.setId(id);
+            room.setRoomNumber(String.valueOf(100 + id));
+            room.setType(ROOM_TYPE);
+            room.setPrice(100);
+            room.setAvailable(true);
+            rooms.add(room);
+        }
+        guest.setId(1L);
+        guest.setEmail("guest@example.com");
+
+        // Stub-only mocks don't record invocations, which matters at this call volume
+        RoomRepository roomRepository = mock(RoomRepository.class, withSettings().stubOnly());
+        BookingRepository bookingRepository = mock(BookingRepository.class, withSettings().stubOnly());
+        UserService userService = mock(UserService.class, withSettings().stubOnly());
+        when(roomRepository.findAll()).thenReturn(rooms);
+        when(roomRepository.findById(anyLong()))
+                .thenAnswer(call -> Optional.of(rooms.get((int) (long) call.getArgument(0, Long.class) - 1)));
+        when(bookingRepository.findActiveStays()).thenReturn(new ArrayList<>());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(call -> {
+            Booking booking = call.getArgument(0);
+            if (booking.getId() == null) {
+                booking.setId(bookingIds.incrementAndGet());
+            }
+            return booking;
+        });
+        when(userService.getUserById(anyLong())).thenReturn(guest);
+
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(roomRepository, bookingRepository);
+        index.rebuild();
+        bookingService = new BookingService(bookingRepository, roomRepository,
+                mock(EmailService.class, withSettings().stubOnly()),
+                mock(RefundService.class, withSettings().stubOnly()),
+                userService, index, new BookingLocks(),
+                mock(BookingStatusCounters.class, withSettings().stubOnly()),
+                mock(BookingSearchIndex.class, withSettings().stubOnly()),
+                mock(DailyRollupService.class, withSettings().stubOnly()));
+    }
+
+    @Test
+    void roomBookingsNeverOverlap() throws Exception {
+        ConcurrentLinkedQueue<Booking> booked = new ConcurrentLinkedQueue<>();
+        long elapsed = runConcurrently(random -> bookRoom(random, booked));
+        report("room bookings", booked.size(), elapsed);
+
+        assertTrue(booked.size() > 0, "no booking succeeded");
+        assertEquals(0, overlappingStays(booked), "overlapping stays on the same room");
+    }
+
+    @Test
+    void roomTypeBookingsNeverExceedCapacity() throws Exception {
+        ConcurrentLinkedQueue<Booking> booked = new ConcurrentLinkedQueue<>();
+        long elapsed = runConcurrently(random -> bookRoomType(random, booked));
+        report("room type bookings", booked.size(), elapsed);
+
+        assertTrue(booked.size() > 0, "no booking succeeded");
+        assertEquals(0, oversoldNights(booked), "nights sold beyond the room type's capacity");
+    }
+
+    @Test
+    void mixedBookingsNeverExceedCapacity() throws Exception {
+        ConcurrentLinkedQueue<Booking> booked = new ConcurrentLinkedQueue<>();
+        long elapsed = runConcurrently(random -> {
+            if (random.nextBoolean()) {
+                bookRoom(random, booked);
+            } else {
+                bookRoomType(random, booked);
+            }
+        });
+        report("mixed bookings", booked.size(), elapsed);
+
+        assertTrue(booked.stream().anyMatch(booking -> booking.getRoom() != null), "no room booking succeeded");
+        assertTrue(booked.stream().anyMatch(booking -> booking.getRoom() == null), "no room type booking succeeded");
+        assertEquals(0, overlappingStays(booked), "overlapping stays on the same room");
+        assertEquals(0, oversoldNights(booked), "nights sold beyond the room type's capacity");
+    }
+
+    private void bookRoom(ThreadLocalRandom random, ConcurrentLinkedQueue<Booking> booked) {
+        LocalDate checkIn = today.plusDays(random.nextInt(WINDOW_DAYS));
+        LocalDate checkOut = checkIn.plusDays(random.nextInt(1, 6));
+        try {
+            booked.add(bookingService.createBooking(guest.getId(), (long) random.nextInt(1, ROOMS + 1),
+                    checkIn, checkOut, null));
+        } catch (RuntimeException rejected) {
+            // Room or type already taken for those nights
+        }
+    }
+
+    private void bookRoomType(ThreadLocalRandom random, ConcurrentLinkedQueue<Booking> booked) {
+        Booking booking = new Booking();
+        booking.setUser(guest);
+        booking.setRoomType(ROOM_TYPE);
+        booking.setCheckInDate(today.plusDays(random.nextInt(WINDOW_DAYS)));
+        booking.setCheckOutDate(booking.getCheckInDate().plusDays(random.nextInt(1, 6)));
+        booking.setStatus("PENDING");
+        try {
+            booked.add(bookingService.createRoomTypeBooking(booking));
+        } catch (RuntimeException rejected) {
+            // Type sold out for those nights
+        }
+    }
+
+    private static int overlappingStays(ConcurrentLinkedQueue<Booking> booked) {
+        Map<Long, List<Booking>> byRoom = new HashMap<>();
+        for (Booking booking : booked) {
+            if (booking.getRoom() != null) {
+                byRoom.computeIfAbsent(booking.getRoom().getId(), id -> new ArrayList<>()).add(booking);
+            }
+        }
+        int overlaps = 0;
+        for (List<Booking> stays : byRoom.values()) {
+            stays.sort(Comparator.comparing(Booking::getCheckInDate));
+            for (int i = 1; i < stays.size(); i++) {
+                if (stays.get(i).getCheckInDate().isBefore(stays.get(i - 1).getCheckOutDate())) {
+                    overlaps++;
+                }
+            }
+        }
+        return overlaps;
+    }
+
+    private int oversoldNights(ConcurrentLinkedQueue<Booking> booked) {
+        int[] soldPerNight = new int[WINDOW_DAYS + 6];
+        for (Booking booking : booked) {
+            for (LocalDate night = booking.getCheckInDate(); night.isBefore(booking.getCheckOutDate());
+                 night = night.plusDays(1)) {
+                soldPerNight[(int) (night.toEpochDay() - today.toEpochDay())]++;
+            }
+        }
+        int oversold = 0;
+        for (int sold : soldPerNight) {
+            if (sold > ROOMS) {
+                oversold++;
+            }
+        }
+        return oversold;
+    }
+
+    private long runConcurrently(Attempt attempt) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    attempt.run(random);
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        try {
+            for (Future<?> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return System.nanoTime() - startedAt;
+    }
+
+    private static void report(String name, int booked, long elapsedNanos) {
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        System.out.printf("%s: %d threads, %d attempts, %d booked, %.0f attempts/s%n",
+                name, THREADS, attempts, booked, attempts / (elapsedNanos / 1e9));
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        void run(ThreadLocalRandom random);
+    }
+}